@@ -0,0 +1,69 @@
+package org.example.ohgiraffers.board.reactive;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import reactor.core.publisher.Mono;
+
+/** PostIdAllocator
+ * 기존 모듈의 post_id_generator(pooled-lo, post_seq 테이블)와 같은 방식으로 postId 를 발급한다.
+ * post_seq 의 next_val 을 읽고 BLOCK_SIZE 만큼 올려서 [next_val, next_val + BLOCK_SIZE) 블록을 예약하고, 블록 안에서는 메모리에서 꺼낸다.
+ * 두 애플리케이션이 같은 DB 를 써도 서로 다른 블록을 받으므로 id 가 겹치지 않는다.
+ * 블록 예약은 게시글 저장 트랜잭션과 별도의 트랜잭션(REQUIRES_NEW)으로 바로 커밋한다.
+ */
+@Component
+public class PostIdAllocator {
+
+    private static final long BLOCK_SIZE = 100;     //Post 엔티티의 INCREMENT_PARAM 과 같아야 한다.
+
+    private final DatabaseClient databaseClient;
+
+    private final TransactionalOperator newTransaction;
+
+    private long next;
+
+    private long limit;
+
+    public PostIdAllocator(DatabaseClient databaseClient, ReactiveTransactionManager transactionManager) {
+        this.databaseClient = databaseClient;
+        DefaultTransactionDefinition definition = new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.newTransaction = TransactionalOperator.create(transactionManager, definition);
+    }
+
+    public Mono<Long> nextId() {
+        return Mono.defer(() -> {
+            Long id = take();
+            if (id != null) {
+                return Mono.just(id);
+            }
+            return reserveBlock().map(this::takeFrom);
+        });
+    }
+
+    private synchronized Long take() {
+        return next < limit ? next++ : null;
+    }
+
+    //동시에 여러 요청이 블록을 예약했다면 먼저 도착한 블록을 쓰고 나머지는 버린다. (id 가 건너뛰어질 뿐 겹치지는 않는다)
+    private synchronized long takeFrom(long blockStart) {
+        if (next >= limit) {
+            next = blockStart;
+            limit = blockStart + BLOCK_SIZE;
+        }
+        return next++;
+    }
+
+    private Mono<Long> reserveBlock() {
+        return databaseClient.sql("select next_val from post_seq for update")
+                .map(row -> row.get("next_val", Long.class))
+                .one()
+                .flatMap(start -> databaseClient.sql("update post_seq set next_val = :next")
+                        .bind("next", start + BLOCK_SIZE)
+                        .then()
+                        .thenReturn(start))
+                .as(newTransaction::transactional);
+    }
+}
@@ -0,0 +1,35 @@
+package org.example.ohgiraffers.board.reactive;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+//post 테이블의 한 행. 기존 모듈의 Post 엔티티와 같은 컬럼을 사용한다. (content 는 압축된 바이트 그대로)
+@Table("post")
+@Getter
+@Builder
+@AllArgsConstructor
+public class PostRow {
+
+    @Id
+    @Column("post_id")
+    private Long postId;
+
+    private String title;
+
+    private byte[] content;     //PostContentCodec 형식(압축)으로 저장된 값
+
+    private String preview;     //content 앞부분 (PostContentCodec.preview)
+
+    @Version
+    private Long version;
+
+    @Column("view_count")
+    private long viewCount;
+
+    private boolean deleted;    //삭제 표시(tombstone)
+}
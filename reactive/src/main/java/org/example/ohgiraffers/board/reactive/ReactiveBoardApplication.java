@@ -0,0 +1,18 @@
+package org.example.ohgiraffers.board.reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+/** ReactiveBoardApplication
+ * 기존 게시글 API(/api/v1/posts)와 같은 요청/응답을 WebFlux + R2DBC 로 처리하는 논블로킹 버전.
+ * 요청을 처리하는 동안 DB 응답을 기다리며 스레드를 붙잡지 않으므로, 적은 수의 고정된 이벤트 루프 스레드로
+ * 느린 클라이언트나 몰려드는 요청을 처리할 수 있다.
+ * 같은 DB(post, post_seq, post_change_log 테이블)를 기존 애플리케이션과 함께 사용한다. (테이블은 기존 애플리케이션이 만든다)
+ */
+@SpringBootApplication
+public class ReactiveBoardApplication {
+
+    public static void main(String[] args) {
+        SpringApplication.run(ReactiveBoardApplication.class, args);
+    }
+}
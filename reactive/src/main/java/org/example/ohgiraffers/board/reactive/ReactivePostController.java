@@ -0,0 +1,59 @@
+package org.example.ohgiraffers.board.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.domain.dto.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/** ReactivePostController
+ * 기존 PostController 와 같은 경로, 같은 요청/응답 DTO 를 사용한다.
+ * 핸들러는 Mono/Flux 를 반환하고 바로 끝나며, 실제 응답은 DB 결과가 도착했을 때 이벤트 루프 스레드에서 쓰여진다.
+ */
+@RestController
+@RequestMapping("/api/v1/posts")
+@RequiredArgsConstructor
+public class ReactivePostController {
+
+    private final ReactivePostService postService;
+
+    @PostMapping
+    public Mono<CreatePostResponse> postCreate(@RequestBody CreatePostRequest request) {
+        return postService.createPost(request);
+    }
+
+    //조회수는 PostController 와 같이 본문이 아니라 X-View-Count 헤더로 내려준다.
+    @GetMapping("/{postId}")
+    public Mono<ResponseEntity<ReadPostResponse>> postRead(@PathVariable Long postId) {
+        return postService.readPostById(postId)
+                .map(response -> ResponseEntity.ok().header("X-View-Count", Long.toString(response.getViewCount())).body(response));
+    }
+
+    @PutMapping("/{postId}")
+    public Mono<UpdatePostResponse> postUpdate(@PathVariable Long postId, @RequestBody UpdatePostRequest request) {
+        return postService.updatePost(postId, request);
+    }
+
+    @DeleteMapping("/{postId}")
+    public Mono<DeletePostResponse> postDelete(@PathVariable Long postId) {
+        return postService.deletePost(postId);
+    }
+
+    @GetMapping
+    public Mono<Page<ReadPostResponse>> postReadAll(
+            @PageableDefault(size = 5, sort = "postId", direction = Sort.Direction.DESC) Pageable pageable) {
+        return postService.readAllPost(pageable);
+    }
+
+    //전체 게시글을 한 줄에 하나씩(NDJSON) 흘려보낸다. 클라이언트가 읽는 만큼만 DB 에서 가져온다.
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<ReadPostResponse> postStream() {
+        return postService.streamAllPost();
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.ohgiraffers.board.reactive;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.data.repository.query.Param;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+//기존 모듈과 같이 삭제 표시(deleted)된 게시글은 모든 조회에서 제외한다. (실제 삭제는 기존 모듈의 PostPurger)
+public interface ReactivePostRepository extends R2dbcRepository<PostRow, Long> {
+
+    Mono<PostRow> findByPostIdAndDeletedFalse(Long postId);
+
+    //페이지 조회. Pageable 의 정렬, limit/offset 이 쿼리에 들어간다.
+    Flux<PostRow> findAllByDeletedFalse(Pageable pageable);
+
+    Mono<Long> countByDeletedFalse();
+
+    //스트리밍 조회. 구독자가 요청한 만큼씩 행을 받아온다.
+    Flux<PostRow> findAllByDeletedFalseOrderByPostIdDesc();
+
+    //조회 없이 update 문 하나로 수정하고 버전을 올린다. content 는 PostContentCodec 으로 변환한 값, preview 는 그 앞부분. 반환값은 변경된 행 수
+    @Modifying
+    @Query("update post set title = :title, content = :content, preview = :preview, version = version + 1 where post_id = :postId and deleted = false")
+    Mono<Integer> updateTitleAndContent(@Param("postId") Long postId, @Param("title") String title, @Param("content") byte[] content,
+                                        @Param("preview") String preview);
+
+    //삭제 표시만 한다.
+    @Modifying
+    @Query("update post set deleted = true, version = version + 1 where post_id = :postId and deleted = false")
+    Mono<Integer> markDeletedById(@Param("postId") Long postId);
+}
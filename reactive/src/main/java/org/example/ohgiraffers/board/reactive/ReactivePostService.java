@@ -0,0 +1,118 @@
+package org.example.ohgiraffers.board.reactive;
+
+import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.domain.converter.PostContentCodec;
+import org.example.ohgiraffers.board.domain.dto.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/** ReactivePostService
+ * 기존 PostService 와 같은 기능을 Mono/Flux 로 제공한다.
+ * 변경할 때는 기존 모듈과 같이 post_change_log 에 기록을 남겨서, 기존 애플리케이션 인스턴스들의 캐시도 무효화되게 한다.
+ * content 는 기존 모듈과 같은 형식(PostContentCodec)으로 압축해서 저장하고 읽을 때 푼다.
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class ReactivePostService {
+
+    private static final int STREAM_PREFETCH = 256;     //스트리밍 조회 시 DB 에서 한 번에 당겨오는 최대 행 수
+
+    private final String nodeId = "reactive-" + UUID.randomUUID();
+
+    private final ReactivePostRepository postRepository;
+
+    private final R2dbcEntityTemplate entityTemplate;
+
+    private final DatabaseClient databaseClient;
+
+    private final PostIdAllocator postIdAllocator;
+
+    @Transactional
+    public Mono<CreatePostResponse> createPost(CreatePostRequest request) {
+        return postIdAllocator.nextId()
+                .map(postId -> PostRow.builder()
+                        .postId(postId)
+                        .title(request.getTitle())
+                        .content(encode(request.getContent()))
+                        .preview(PostContentCodec.preview(request.getContent()))
+                        .build())
+                .flatMap(entityTemplate::insert)    //id 를 직접 넣으므로 save() 대신 항상 insert
+                .flatMap(row -> recordChange(row.getPostId(), "CREATED")
+                        .thenReturn(new CreatePostResponse(row.getPostId(), row.getTitle(), request.getContent())));
+    }
+
+    public Mono<ReadPostResponse> readPostById(Long postId) {
+        return postRepository.findByPostIdAndDeletedFalse(postId)
+                .switchIfEmpty(Mono.error(() -> notFound()))
+                .map(this::toResponse);
+    }
+
+    @Transactional
+    public Mono<UpdatePostResponse> updatePost(Long postId, UpdatePostRequest request) {
+        return postRepository.updateTitleAndContent(postId, request.getTitle(), encode(request.getContent()),
+                        PostContentCodec.preview(request.getContent()))
+                .flatMap(updated -> updated == 0 ? Mono.error(notFound()) : recordChange(postId, "UPDATED"))
+                .thenReturn(new UpdatePostResponse(postId, request.getTitle(), request.getContent()));
+    }
+
+    @Transactional
+    public Mono<DeletePostResponse> deletePost(Long postId) {
+        return postRepository.markDeletedById(postId)
+                .flatMap(deleted -> deleted == 0 ? Mono.error(notFound()) : recordChange(postId, "DELETED"))
+                .thenReturn(new DeletePostResponse(postId));
+    }
+
+    //기존 API 와 같은 Page 응답. 목록 조회와 전체 개수 조회를 동시에 실행한다.
+    public Mono<Page<ReadPostResponse>> readAllPost(Pageable pageable) {
+        return postRepository.findAllByDeletedFalse(pageable)
+                .map(this::toResponse)
+                .collectList()
+                .zipWith(postRepository.countByDeletedFalse())
+                .map(result -> new PageImpl<>(result.getT1(), pageable, result.getT2()));
+    }
+
+    /** 전체 게시글 스트리밍 (최신순)
+     * 클라이언트가 읽는 속도에 맞춰 DB 에서 STREAM_PREFETCH 개씩 당겨온다. (backpressure)
+     * 느린 클라이언트가 있어도 서버 메모리에 결과가 쌓이지 않는다.
+     */
+    public Flux<ReadPostResponse> streamAllPost() {
+        return postRepository.findAllByDeletedFalseOrderByPostIdDesc()
+                .limitRate(STREAM_PREFETCH)
+                .map(this::toResponse);
+    }
+
+    private ReadPostResponse toResponse(PostRow row) {
+        String content = row.getContent() == null ? null : PostContentCodec.decode(row.getContent());
+        return new ReadPostResponse(row.getPostId(), row.getTitle(), content, row.getVersion(), row.getViewCount());
+    }
+
+    private static byte[] encode(String content) {
+        return content == null ? null : PostContentCodec.encode(content);
+    }
+
+    private Mono<Void> recordChange(Long postId, String changeType) {
+        return databaseClient.sql("insert into post_change_log (post_id, change_type, origin, changed_at) values (:postId, :changeType, :origin, :changedAt)")
+                .bind("postId", postId)
+                .bind("changeType", changeType)
+                .bind("origin", nodeId)
+                .bind("changedAt", LocalDateTime.now())
+                .then();
+    }
+
+    private ResponseStatusException notFound() {
+        return new ResponseStatusException(HttpStatus.NOT_FOUND, "해당 postId로 조회된 게시글이 없습니다.");
+    }
+}
@@ -0,0 +1,128 @@
+package org.example.ohgiraffers.board.reactive;
+
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.domain.dto.CreatePostResponse;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.example.ohgiraffers.board.domain.dto.UpdatePostRequest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//H2(r2dbc) 위에서 실제 컨트롤러 - 서비스 - 리포지토리를 모두 거쳐 기존 API 와 같은 응답이 나오는지 확인한다.
+@SpringBootTest
+@AutoConfigureWebTestClient
+class ReactivePostControllerTest {
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    private CreatePostResponse create(String title, String content) {
+        return webTestClient.post().uri("/api/v1/posts")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new CreatePostRequest(title, content))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(CreatePostResponse.class)
+                .returnResult()
+                .getResponseBody();
+    }
+
+    @Test
+    @DisplayName("게시글 작성 후 조회 테스트")
+    void create_and_read_post_test() {
+
+        CreatePostResponse created = create("제목", "내용");
+        assertThat(created.getPostId()).isNotNull();
+
+        webTestClient.get().uri("/api/v1/posts/{postId}", created.getPostId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists("X-View-Count")
+                .expectBody()
+                .jsonPath("$.postId").isEqualTo(created.getPostId())
+                .jsonPath("$.title").isEqualTo("제목")
+                .jsonPath("$.content").isEqualTo("내용")
+                .jsonPath("$.version").doesNotExist()
+                .jsonPath("$.viewCount").doesNotExist();
+    }
+
+    @Test
+    @DisplayName("게시글 수정, 삭제 후 조회 시 404 테스트")
+    void update_and_delete_post_test() {
+
+        CreatePostResponse created = create("제목", "내용");
+
+        webTestClient.put().uri("/api/v1/posts/{postId}", created.getPostId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdatePostRequest("수정된 제목", "수정된 내용"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("수정된 제목");
+
+        webTestClient.delete().uri("/api/v1/posts/{postId}", created.getPostId())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.postId").isEqualTo(created.getPostId());
+
+        webTestClient.get().uri("/api/v1/posts/{postId}", created.getPostId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("없는 게시글 수정 시 404 테스트")
+    void update_missing_post_test() {
+
+        webTestClient.put().uri("/api/v1/posts/{postId}", Long.MAX_VALUE)
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new UpdatePostRequest("제목", "내용"))
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("게시글 목록 페이지 조회 테스트")
+    void read_all_post_test() {
+
+        create("제목1", "내용1");
+        CreatePostResponse last = create("제목2", "내용2");
+
+        webTestClient.get().uri("/api/v1/posts?page=0&size=1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].postId").isEqualTo(last.getPostId())
+                .jsonPath("$.size").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("게시글 NDJSON 스트리밍 테스트")
+    void stream_post_test() {
+
+        CreatePostResponse created = create("스트림 제목", "스트림 내용");
+
+        Flux<ReadPostResponse> body = webTestClient.get().uri("/api/v1/posts/stream")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(ReadPostResponse.class)
+                .getResponseBody();
+
+        StepVerifier.create(body.filter(post -> post.getPostId().equals(created.getPostId())))
+                .assertNext(post -> assertThat(post.getTitle()).isEqualTo("스트림 제목"))
+                .thenCancel()
+                .verify();
+    }
+}
@@ -0,0 +1,23 @@
+create table if not exists post (
+    post_id    bigint       not null primary key,
+    title      varchar(255),
+    content    varbinary(1000000),
+    preview    varchar(200),
+    version    bigint,
+    view_count bigint       not null default 0,
+    deleted    boolean      not null default false
+);
+
+create table if not exists post_seq (
+    next_val bigint
+);
+
+insert into post_seq (next_val) select 1 where not exists (select 1 from post_seq);
+
+create table if not exists post_change_log (
+    id          bigint       auto_increment primary key,
+    post_id     bigint,
+    change_type varchar(255),
+    origin      varchar(255),
+    changed_at  timestamp
+);
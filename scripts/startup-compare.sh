@@ -0,0 +1,50 @@
+#!/usr/bin/env bash
+# 시작 시간 비교: 기존 jar / AOT+CDS / native image
+# 각 방식으로 앱을 띄우고, 첫 요청(/actuator/health)이 성공할 때까지의 시간과 그 시점의 RSS(VmRSS)를 출력한다.
+#
+# 준비:
+#   ./gradlew bootJar                      -> build/libs/*-SNAPSHOT.jar
+#   ./gradlew -PfastStartup cdsLayout      -> build/cds/app.jar (+ lib/)
+#   ./gradlew -PfastStartup nativeCompile  -> build/native/nativeCompile/mission01-board
+# application.yml 의 DB 접속 정보는 고정값이므로, 다른 DB 를 쓰려면 SPRING_DATASOURCE_URL / SPRING_DATASOURCE_USERNAME /
+# SPRING_DATASOURCE_PASSWORD 환경 변수(또는 --spring.datasource.* 인자)로 덮어쓴다.
+# CDS 학습 실행(exit-on-ready)은 예약 작업과 검색 색인 생성을 하지 않으므로 DB 없이도 된다.
+set -euo pipefail
+
+PORT=${PORT:-8080}
+URL="http://localhost:${PORT}/actuator/health"
+BOOT_JAR=$(ls build/libs/*-SNAPSHOT.jar | grep -v plain | head -n 1)
+CDS_DIR=build/cds
+NATIVE=build/native/nativeCompile/mission01-board
+
+now_ms() { date +%s%3N; }
+
+measure() {
+    local name=$1; shift
+    local start pid rss
+    start=$(now_ms)
+    "$@" --server.port="${PORT}" > "build/startup-${name}.log" 2>&1 &
+    pid=$!
+    until curl -sf -o /dev/null "${URL}"; do
+        if ! kill -0 "${pid}" 2>/dev/null; then
+            echo "${name}: 시작 실패 (build/startup-${name}.log 확인)"; return 1
+        fi
+        sleep 0.02
+    done
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+    printf '%-10s first-request %6d ms   rss %7d KB\n' "${name}" $(( $(now_ms) - start )) "${rss}"
+    kill "${pid}"; wait "${pid}" 2>/dev/null || true
+}
+
+# CDS 아카이브가 없으면 학습 실행으로 먼저 만든다.
+if [ ! -f "${CDS_DIR}/app.jsa" ]; then
+    java -XX:ArchiveClassesAtExit="${CDS_DIR}/app.jsa" -Dspring.aot.enabled=true -jar "${CDS_DIR}/app.jar" \
+        --spring.profiles.active=fast-startup --board.startup.exit-on-ready=true > build/startup-cds-training.log 2>&1
+fi
+
+measure jar java -jar "${BOOT_JAR}"
+measure aot-cds java -XX:SharedArchiveFile="${CDS_DIR}/app.jsa" -Dspring.aot.enabled=true -jar "${CDS_DIR}/app.jar" \
+    --spring.profiles.active=fast-startup
+if [ -x "${NATIVE}" ]; then
+    measure native "${NATIVE}" --spring.profiles.active=fast-startup
+fi
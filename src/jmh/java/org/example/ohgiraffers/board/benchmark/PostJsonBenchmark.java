@@ -0,0 +1,64 @@
+package org.example.ohgiraffers.board.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** PostJsonBenchmark
+ * 컨트롤러에서 일어나는 JSON 변환 비용을 측정한다.
+ * - postReadAll 응답: Page<ReadPostResponse> -> JSON
+ * - postCreate 요청: JSON -> CreatePostRequest (@RequestBody)
+ * ObjectMapper는 스프링 부트와 같은 방식(Jackson2ObjectMapperBuilder)으로 만든다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostJsonBenchmark {
+
+    @Param({"5", "100"})
+    public int pageSize;
+
+    private ObjectWriter pageWriter;
+
+    private ObjectReader createRequestReader;
+
+    private Page<ReadPostResponse> page;
+
+    private byte[] createRequestJson;
+
+    @Setup
+    public void setup() throws IOException {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        pageWriter = objectMapper.writer();
+        createRequestReader = objectMapper.readerFor(CreatePostRequest.class);
+
+        List<ReadPostResponse> responses = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            responses.add(new ReadPostResponse(i, "제목 " + i, "내용 ".repeat(50) + i));
+        }
+        page = new PageImpl<>(responses, PageRequest.of(0, pageSize), 10_000);
+        createRequestJson = objectMapper.writeValueAsBytes(new CreatePostRequest("테스트 제목", "테스트 내용 ".repeat(50)));
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws IOException {
+        return pageWriter.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public CreatePostRequest deserializeCreateRequest() throws IOException {
+        return createRequestReader.readValue(createRequestJson);
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.ohgiraffers.board.benchmark;
+
+import org.example.ohgiraffers.board.cache.PostCountCache;
+import org.example.ohgiraffers.board.domain.converter.PostContentCodec;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.example.ohgiraffers.board.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** PostMappingBenchmark
+ * readAllPost 에서 DB 시간을 뺀 나머지 비용을 측정한다.
+ * - readAllPost: 프로젝션으로 읽은 Slice -> Page 조립 (PostRepository는 미리 만들어 둔 Slice와 전체 개수를 돌려주는 가짜 구현)
+ * - decodeContent: 행마다 content 압축을 푸는 비용 (CompressedTextConverter)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PostMappingBenchmark {
+
+    @Param({"5", "100"})
+    public int pageSize;
+
+    private PostService postService;
+
+    private Pageable pageable;
+
+    private List<byte[]> encodedContents;
+
+    @Setup
+    public void setup() {
+        List<ReadPostResponse> posts = new ArrayList<>();
+        encodedContents = new ArrayList<>();
+        for (long i = 1; i <= pageSize; i++) {
+            String content = "내용 ".repeat(50) + i;
+            posts.add(new ReadPostResponse(i, "제목 " + i, content, 0L, 0L));
+            encodedContents.add(PostContentCodec.encode(content));
+        }
+        pageable = PageRequest.of(0, pageSize);
+        Slice<ReadPostResponse> slice = new SliceImpl<>(posts, pageable, true);
+
+        PostRepository postRepository = (PostRepository) Proxy.newProxyInstance(
+                PostRepository.class.getClassLoader(), new Class<?>[]{PostRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findResponses")) {
+                        return slice;
+                    }
+                    if (method.getName().equals("countLive")) {     //PostCountCache
+                        return 10_000L;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        postService = new PostService(postRepository, null, null, null, new PostCountCache(postRepository));
+    }
+
+    @Benchmark
+    public Page<ReadPostResponse> readAllPost() {
+        return postService.readAllPost(pageable);
+    }
+
+    @Benchmark
+    public void decodeContent(Blackhole blackhole) {
+        for (byte[] encoded : encodedContents) {
+            blackhole.consume(PostContentCodec.decode(encoded));
+        }
+    }
+}
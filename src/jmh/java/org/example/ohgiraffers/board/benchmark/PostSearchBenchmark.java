@@ -0,0 +1,65 @@
+package org.example.ohgiraffers.board.benchmark;
+
+import org.example.ohgiraffers.board.search.PostSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/** PostSearchBenchmark
+ * 메모리 검색 색인(PostSearchIndex)의 비용을 측정한다.
+ * - search: 흔한 단어 + 드문 단어 검색 (게시글마다 점수를 더하고 상위 10개를 고른다)
+ * - reindexOldPost: 가장 최근이 아닌 게시글 수정 (보조 목록에만 기록하는 경로)
+ * - reindexOldPostAndCompact: 수정 후 보조 목록 합치기까지 (백그라운드에서 주기적으로 일어나는 비용)
+ * 게시글은 고정된 단어 목록에서 뽑은 단어로 만들어서 실행할 때마다 같은 색인이 만들어진다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PostSearchBenchmark {
+
+    private static final String[] WORDS = {
+            "스프링", "게시판", "배포", "도커", "쿠버네티스", "데이터베이스", "인덱스", "캐시", "검색", "성능",
+            "트랜잭션", "커넥션", "스레드", "메모리", "압축", "직렬화", "요청", "응답", "지연", "처리량"};
+
+    @Param({"10000", "100000"})
+    public int postCount;
+
+    private PostSearchIndex postSearchIndex;
+
+    private SplittableRandom random;
+
+    @Setup
+    public void setup() {
+        random = new SplittableRandom(42);
+        postSearchIndex = new PostSearchIndex();
+        for (long postId = 1; postId <= postCount; postId++) {
+            postSearchIndex.index(postId, text(3), text(40));
+        }
+    }
+
+    @Benchmark
+    public List<PostSearchIndex.Hit> search() {
+        return postSearchIndex.search("스프링 처리량", 10);
+    }
+
+    @Benchmark
+    public void reindexOldPost() {
+        postSearchIndex.index(1 + random.nextLong(postCount - 1), text(3), text(40));
+    }
+
+    @Benchmark
+    public void reindexOldPostAndCompact() {
+        postSearchIndex.index(1 + random.nextLong(postCount - 1), text(3), text(40));
+        postSearchIndex.compact();
+    }
+
+    private String text(int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,89 @@
+package org.example.ohgiraffers.board.benchmark;
+
+import org.example.ohgiraffers.board.Mission01BoardApplication;
+import org.example.ohgiraffers.board.cache.PostCache;
+import org.example.ohgiraffers.board.domain.dto.*;
+import org.example.ohgiraffers.board.service.PostService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/** PostServiceBenchmark
+ * 내장 DB(H2, embedded 프로필)를 사용하는 실제 스프링 컨텍스트에서 PostService의 CRUD를 측정한다.
+ * 웹 서버는 띄우지 않고 서비스 빈을 직접 호출한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class PostServiceBenchmark {
+
+    private static final int SEED_POSTS = 1_000;
+
+    private ConfigurableApplicationContext context;
+
+    private PostService postService;
+
+    private PostCache postCache;
+
+    private long firstPostId;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        SpringApplication application = new SpringApplication(Mission01BoardApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("embedded");
+        context = application.run("--logging.level.root=WARN");
+
+        postService = context.getBean(PostService.class);
+        postCache = context.getBean(PostCache.class);
+        firstPostId = postService.createPost(new CreatePostRequest("벤치마크 제목 0", "벤치마크 내용 0")).getPostId();
+        for (int i = 1; i < SEED_POSTS; i++) {
+            postService.createPost(new CreatePostRequest("벤치마크 제목 " + i, "벤치마크 내용 " + i));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private long randomPostId() {
+        return firstPostId + ThreadLocalRandom.current().nextInt(SEED_POSTS);
+    }
+
+    @Benchmark
+    public CreatePostResponse createPost() {
+        return postService.createPost(new CreatePostRequest("새 제목", "새 내용"));
+    }
+
+    //로컬 캐시에 있는 게시글 조회
+    @Benchmark
+    public ReadPostResponse readPostByIdCached() {
+        return postService.readPostById(firstPostId);
+    }
+
+    //캐시를 비우고 DB에서 조회
+    @Benchmark
+    public ReadPostResponse readPostByIdUncached() {
+        long postId = randomPostId();
+        postCache.evict(postId);
+        return postService.readPostById(postId);
+    }
+
+    @Benchmark
+    public UpdatePostResponse updatePost() {
+        return postService.updatePost(randomPostId(), new UpdatePostRequest("수정 제목", "수정 내용"));
+    }
+
+    @Benchmark
+    public Page<ReadPostResponse> readAllPost() {
+        return postService.readAllPost(PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "postId")));
+    }
+}
@@ -0,0 +1,12 @@
+package org.example.ohgiraffers.board.loadtest;
+
+/** Endpoint
+ * 부하를 주는 PostController 의 다섯 엔드포인트. 결과(히스토그램)도 이 단위로 나눠서 남긴다.
+ */
+public enum Endpoint {
+    READ,       //GET    /api/v1/posts/{postId}
+    LIST,       //GET    /api/v1/posts?page=n
+    CREATE,     //POST   /api/v1/posts
+    UPDATE,     //PUT    /api/v1/posts/{postId}
+    DELETE      //DELETE /api/v1/posts/{postId}
+}
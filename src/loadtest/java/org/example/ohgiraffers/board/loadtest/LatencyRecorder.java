@@ -0,0 +1,100 @@
+package org.example.ohgiraffers.board.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/** LatencyRecorder
+ * 엔드포인트별 지연 시간을 HdrHistogram 에 마이크로초 단위로 기록한다.
+ * - serviceTime  : 요청을 실제로 보낸 시점부터 응답을 다 읽을 때까지
+ * - responseTime : 요청을 보냈어야 할 시점(open 모드의 예정 시각)부터 응답을 다 읽을 때까지.
+ *   서버가 밀려서 요청을 늦게 보내게 된 시간까지 포함하므로 coordinated omission 으로 지연 시간이 작게 보이지 않는다.
+ *   closed 모드는 예정 시각이 따로 없으므로 serviceTime 과 같다.
+ */
+class LatencyRecorder {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final Map<Endpoint, Histogram> serviceTimes = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, Histogram> responseTimes = new EnumMap<>(Endpoint.class);
+
+    private final Map<Endpoint, LongAdder> errors = new EnumMap<>(Endpoint.class);
+
+    LatencyRecorder() {
+        for (Endpoint endpoint : Endpoint.values()) {
+            serviceTimes.put(endpoint, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            responseTimes.put(endpoint, new ConcurrentHistogram(SIGNIFICANT_DIGITS));
+            errors.put(endpoint, new LongAdder());
+        }
+    }
+
+    void record(PostsClient.Result result, long intendedNanos, long sentNanos, long doneNanos) {
+        serviceTimes.get(result.endpoint).recordValue(TimeUnit.NANOSECONDS.toMicros(doneNanos - sentNanos));
+        responseTimes.get(result.endpoint).recordValue(TimeUnit.NANOSECONDS.toMicros(doneNanos - intendedNanos));
+        if (!result.ok) {
+            errors.get(result.endpoint).increment();
+        }
+    }
+
+    long totalCount() {
+        return serviceTimes.values().stream().mapToLong(Histogram::getTotalCount).sum();
+    }
+
+    /* dir 에 엔드포인트별 <name>-<endpoint>.hgrm 과 전체를 합친 <name>-all.hgrm 을 남기고, 요약을 summary 에 쓴다.
+     * .hgrm 은 밀리초 단위 백분위 분포이며 HdrHistogram plotter 로 그래프를 그릴 수 있다.
+     */
+    void report(Path dir, String name, double elapsedSeconds, boolean coordinatedOmissionCorrected, PrintStream summary) throws IOException {
+        Map<Endpoint, Histogram> histograms = coordinatedOmissionCorrected ? responseTimes : serviceTimes;
+
+        summary.printf("== %s (%.1fs, 단위 ms%s)%n", name, elapsedSeconds,
+                coordinatedOmissionCorrected ? ", 예정 시각 기준 응답 시간 / 괄호 안은 service time" : "");
+
+        Histogram all = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram allService = new Histogram(SIGNIFICANT_DIGITS);
+        long allErrors = 0;
+        for (Endpoint endpoint : Endpoint.values()) {
+            Histogram histogram = histograms.get(endpoint);
+            if (histogram.getTotalCount() == 0) {
+                continue;
+            }
+            all.add(histogram);
+            allService.add(serviceTimes.get(endpoint));
+            allErrors += errors.get(endpoint).sum();
+            writeHgrm(dir.resolve(name + "-" + endpoint.name().toLowerCase() + ".hgrm"), histogram);
+            printLine(summary, endpoint.name(), histogram, serviceTimes.get(endpoint), errors.get(endpoint).sum(),
+                    elapsedSeconds, coordinatedOmissionCorrected);
+        }
+        writeHgrm(dir.resolve(name + "-all.hgrm"), all);
+        printLine(summary, "ALL", all, allService, allErrors, elapsedSeconds, coordinatedOmissionCorrected);
+    }
+
+    private static void printLine(PrintStream out, String label, Histogram histogram, Histogram service,
+                                  long errorCount, double elapsedSeconds, boolean withService) {
+        out.printf("%-7s count %9d  errors %6d  %9.1f req/s  p50 %s  p99 %s  p99.9 %s  max %s%n",
+                label, histogram.getTotalCount(), errorCount, histogram.getTotalCount() / elapsedSeconds,
+                millis(histogram, service, 50.0, withService),
+                millis(histogram, service, 99.0, withService),
+                millis(histogram, service, 99.9, withService),
+                millis(histogram, service, 100.0, withService));
+    }
+
+    private static String millis(Histogram histogram, Histogram service, double percentile, boolean withService) {
+        String value = String.format("%8.2f", histogram.getValueAtPercentile(percentile) / 1000.0);
+        return withService ? value + String.format(" (%7.2f)", service.getValueAtPercentile(percentile) / 1000.0) : value;
+    }
+
+    private static void writeHgrm(Path file, Histogram histogram) throws IOException {
+        try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.example.ohgiraffers.board.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/** LoadGenerator
+ * - closed : concurrency 개의 클라이언트가 응답을 받자마자 다음 요청을 보낸다. 서버가 낼 수 있는 최대 처리량을 잰다.
+ *            (서버가 느려지면 요청도 덜 보내게 되므로 지연 시간은 실제보다 좋게 나온다)
+ * - open   : 서버 속도와 상관없이 초당 rate 개의 요청을 일정한 간격으로 보낸다.
+ *            i 번째 요청의 예정 시각은 start + i * interval 이고, 보낼 스레드가 모두 바빠서 늦게 보내더라도 지연 시간은 예정 시각부터 잰다.
+ */
+class LoadGenerator {
+
+    private final PostsClient client;
+
+    private final int concurrency;
+
+    LoadGenerator(PostsClient client, int concurrency) {
+        this.client = client;
+        this.concurrency = concurrency;
+    }
+
+    //걸린 시간(초)을 돌려준다.
+    double runClosed(int seconds, LatencyRecorder recorder) throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        runWorkers(() -> {
+            while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                Endpoint endpoint = client.next();
+                long sent = System.nanoTime();
+                PostsClient.Result result = client.call(endpoint);
+                recorder.record(result, sent, sent, System.nanoTime());
+            }
+        });
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    double runOpen(int seconds, double rate, LatencyRecorder recorder) throws InterruptedException {
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(seconds);
+        AtomicLong sequence = new AtomicLong();
+        runWorkers(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                long intended = start + sequence.getAndIncrement() * interval;
+                if (intended >= deadline) {
+                    return;
+                }
+                long wait;
+                while ((wait = intended - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                Endpoint endpoint = client.next();
+                long sent = System.nanoTime();
+                PostsClient.Result result = client.call(endpoint);
+                recorder.record(result, intended, sent, System.nanoTime());
+            }
+        });
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    private void runWorkers(Runnable worker) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                futures.add(executor.submit(worker));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("부하 생성 중 오류가 발생했습니다.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package org.example.ohgiraffers.board.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ohgiraffers.board.Mission01BoardApplication;
+import org.example.ohgiraffers.board.domain.dto.BatchPostResponse;
+import org.example.ohgiraffers.board.domain.dto.BatchPostResult;
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.service.PostBatchService;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+/** LoadTestRunner
+ * ./gradlew loadTest -Ploadtest.posts=100000 -Ploadtest.mode=open -Ploadtest.rate=2000
+ *
+ * 내장 DB(H2, embedded 프로필)로 애플리케이션을 띄우고(임의 포트), 게시글을 posts 개 넣은 뒤 HTTP 로 부하를 준다.
+ * 외부 DB나 서비스 없이 한 대에서 실행된다. 부하 생성기도 같은 JVM 에서 돌기 때문에 CPU 를 나눠 쓴다는 점은 감안해서 본다.
+ * 결과: build/reports/loadtest/<시각>/summary.txt 와 엔드포인트별 .hgrm (설정은 LoadTestSettings)
+ */
+public class LoadTestRunner {
+
+    private static final int SEED_CHUNK = 1_000;   //board.batch.max-items 기본값
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = new LoadTestSettings();
+
+        SpringApplication application = new SpringApplication(Mission01BoardApplication.class);
+        application.setAdditionalProfiles("embedded");
+        try (ConfigurableApplicationContext context = application.run(
+                "--server.port=0",
+                "--logging.level.root=WARN",
+                "--board.admission.enabled=" + settings.admission)) {
+
+            String baseUri = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            long[] seededIds = seed(context.getBean(PostBatchService.class), settings);
+            PostsClient client = new PostsClient(baseUri, seededIds, settings, context.getBean(ObjectMapper.class));
+            run(settings, new LoadGenerator(client, settings.concurrency));
+        }
+    }
+
+    private static void run(LoadTestSettings settings, LoadGenerator generator) throws InterruptedException, IOException {
+        Path dir = settings.reportDir.resolve(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")));
+        Files.createDirectories(dir);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        PrintStream summary = new PrintStream(buffer, true, StandardCharsets.UTF_8);
+        summary.println(settings);
+
+        if (settings.warmupSeconds > 0) {
+            generator.runClosed(settings.warmupSeconds, new LatencyRecorder());     //JIT, 캐시, 커넥션 풀 예열. 결과는 버린다.
+        }
+
+        double rate = settings.rate;
+        if (settings.mode != LoadTestSettings.Mode.OPEN) {
+            LatencyRecorder closed = new LatencyRecorder();
+            double elapsed = generator.runClosed(settings.durationSeconds, closed);
+            closed.report(dir, "closed", elapsed, false, summary);
+            if (rate <= 0) {
+                rate = closed.totalCount() / elapsed * 0.8;
+            }
+        }
+        if (settings.mode != LoadTestSettings.Mode.CLOSED) {
+            if (rate <= 0) {
+                throw new IllegalArgumentException("open 모드만 실행할 때는 loadtest.rate 를 지정해야 합니다.");
+            }
+            LatencyRecorder open = new LatencyRecorder();
+            double elapsed = generator.runOpen(settings.durationSeconds, rate, open);
+            summary.printf("open 모드 목표 처리량: %.1f req/s%n", rate);
+            open.report(dir, "open", elapsed, true, summary);
+        }
+
+        Files.write(dir.resolve("summary.txt"), buffer.toByteArray());
+        System.out.print(buffer.toString(StandardCharsets.UTF_8));
+        System.out.println("결과: " + dir.toAbsolutePath());
+    }
+
+    //일괄 생성 API와 같은 서비스로 미리 게시글을 넣는다. (묶음마다 JDBC batch insert)
+    private static long[] seed(PostBatchService postBatchService, LoadTestSettings settings) {
+        if (settings.posts <= 0) {
+            throw new IllegalArgumentException("loadtest.posts 는 1 이상이어야 합니다. (조회/수정 대상)");
+        }
+        String content = content(settings.contentSize);
+        long[] ids = new long[settings.posts];
+        int seeded = 0;
+        while (seeded < settings.posts) {
+            int size = Math.min(SEED_CHUNK, settings.posts - seeded);
+            List<CreatePostRequest> requests = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                requests.add(new CreatePostRequest("부하 테스트 게시글 " + (seeded + i), content));
+            }
+            BatchPostResponse response = postBatchService.createPosts(requests);
+            for (BatchPostResult result : response.getResults()) {
+                if (result.getPostId() == null) {
+                    throw new IllegalStateException("게시글을 미리 넣지 못했습니다: " + result.getMessage());
+                }
+                ids[seeded++] = result.getPostId();
+            }
+        }
+        return ids;
+    }
+
+    static String content(int size) {
+        String sample = "부하 테스트 내용입니다. load test content. ";
+        StringBuilder builder = new StringBuilder(size);
+        while (builder.length() < size) {
+            builder.append(sample);
+        }
+        return builder.substring(0, size);
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.ohgiraffers.board.loadtest;
+
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+
+/** LoadTestSettings
+ * 부하 테스트 설정. ./gradlew loadTest -Ploadtest.<이름>=<값> 으로 넘긴 값을 시스템 프로퍼티에서 읽는다.
+ *
+ * loadtest.posts        미리 넣어 둘 게시글 수 (기본 10000)
+ * loadtest.content-size 게시글 내용 길이(문자 수) (기본 500)
+ * loadtest.mode         closed | open | both (기본 both: closed 로 최대 처리량을 잰 뒤 open 으로 지연 시간을 잰다)
+ * loadtest.concurrency  closed: 동시에 요청하는 클라이언트 수, open: 요청을 보내는 스레드 수 (기본 64)
+ * loadtest.rate         open 모드의 초당 요청 수. 0 이면 closed 모드 처리량의 80% (기본 0)
+ * loadtest.warmup       측정 전에 버리는 시간(초) (기본 10)
+ * loadtest.duration     측정 시간(초) (기본 30)
+ * loadtest.mix          엔드포인트별 비율 (기본 read:60,list:30,create:4,update:4,delete:2 = 읽기/쓰기 90/10)
+ * loadtest.list-pages   목록 조회에서 고르는 페이지 범위 0 ~ n-1 (기본 10)
+ * loadtest.admission    요청 제한(board.admission)을 켜고 측정할지 여부 (기본 false, 모든 요청이 같은 클라이언트라 금방 429가 난다)
+ * loadtest.report-dir   결과(.hgrm, summary.txt)를 남길 디렉터리 (기본 build/reports/loadtest)
+ */
+public class LoadTestSettings {
+
+    public enum Mode { CLOSED, OPEN, BOTH }
+
+    final int posts = intValue("posts", 10_000);
+    final int contentSize = intValue("content-size", 500);
+    final Mode mode = Mode.valueOf(value("mode", "both").toUpperCase());
+    final int concurrency = intValue("concurrency", 64);
+    final int rate = intValue("rate", 0);
+    final int warmupSeconds = intValue("warmup", 10);
+    final int durationSeconds = intValue("duration", 30);
+    final Map<Endpoint, Integer> mix = parseMix(value("mix", "read:60,list:30,create:4,update:4,delete:2"));
+    final int listPages = intValue("list-pages", 10);
+    final boolean admission = Boolean.parseBoolean(value("admission", "false"));
+    final Path reportDir = Path.of(value("report-dir", "build/reports/loadtest"));
+
+    private static String value(String name, String defaultValue) {
+        return System.getProperty("loadtest." + name, defaultValue);
+    }
+
+    private static int intValue(String name, int defaultValue) {
+        return Integer.parseInt(value(name, String.valueOf(defaultValue)));
+    }
+
+    //"read:60,list:30" -> {READ=60, LIST=30}
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] pair = entry.trim().split(":");
+            if (pair.length != 2) {
+                throw new IllegalArgumentException("loadtest.mix 형식이 잘못되었습니다: " + entry);
+            }
+            weights.put(Endpoint.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        return weights;
+    }
+
+    @Override
+    public String toString() {
+        return "posts=" + posts + ", content-size=" + contentSize + ", mode=" + mode + ", concurrency=" + concurrency
+                + ", rate=" + rate + ", warmup=" + warmupSeconds + "s, duration=" + durationSeconds + "s, mix=" + mix
+                + ", admission=" + admission;
+    }
+}
@@ -0,0 +1,141 @@
+package org.example.ohgiraffers.board.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.domain.dto.UpdatePostRequest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/** PostsClient
+ * 게시글 API 를 HTTP 로 호출한다. 엔드포인트는 mix 비율대로 무작위로 고른다.
+ * 조회/수정은 미리 넣어 둔 게시글(seededIds)만 대상으로 하고, 삭제는 테스트 중에 생성한 게시글만 지운다.
+ * (조회 대상이 지워져서 404가 섞이지 않도록. 지울 게시글이 아직 없으면 대신 생성한다)
+ */
+class PostsClient {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(TIMEOUT)
+            .build();
+
+    private final ObjectMapper objectMapper;
+
+    private final String baseUri;
+
+    private final long[] seededIds;
+
+    private final int listPages;
+
+    private final Endpoint[] endpoints;
+
+    private final int[] cumulativeWeights;
+
+    private final byte[] createBody;
+
+    private final byte[] updateBody;
+
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+
+    PostsClient(String baseUri, long[] seededIds, LoadTestSettings settings, ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.baseUri = baseUri + "/api/v1/posts";
+        this.seededIds = seededIds;
+        this.listPages = settings.listPages;
+
+        Map<Endpoint, Integer> mix = settings.mix;
+        this.endpoints = mix.keySet().toArray(Endpoint[]::new);
+        this.cumulativeWeights = new int[endpoints.length];
+        int total = 0;
+        for (int i = 0; i < endpoints.length; i++) {
+            total += mix.get(endpoints[i]);
+            cumulativeWeights[i] = total;
+        }
+        if (total <= 0) {
+            throw new IllegalArgumentException("loadtest.mix 의 비율 합이 0 입니다.");
+        }
+
+        String content = LoadTestRunner.content(settings.contentSize);
+        this.createBody = objectMapper.writeValueAsBytes(new CreatePostRequest("부하 테스트 제목", content));
+        this.updateBody = objectMapper.writeValueAsBytes(new UpdatePostRequest("부하 테스트 수정 제목", content));
+    }
+
+    //이번에 호출할 엔드포인트
+    Endpoint next() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pick = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (pick < cumulativeWeights[i]) {
+                return endpoints[i];
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    //요청 하나를 보내고 응답을 끝까지 읽는다. 실제로 호출한 엔드포인트를 결과로 돌려준다.
+    Result call(Endpoint endpoint) {
+        Long deleteId = null;
+        if (endpoint == Endpoint.DELETE) {
+            deleteId = createdIds.poll();
+            if (deleteId == null) {
+                endpoint = Endpoint.CREATE;
+            }
+        }
+
+        HttpRequest request = switch (endpoint) {
+            case READ -> builder("/" + randomSeededId()).GET().build();
+            case LIST -> builder("?page=" + ThreadLocalRandom.current().nextInt(listPages)).GET().build();
+            case CREATE -> json(builder("")).POST(HttpRequest.BodyPublishers.ofByteArray(createBody)).build();
+            case UPDATE -> json(builder("/" + randomSeededId())).PUT(HttpRequest.BodyPublishers.ofByteArray(updateBody)).build();
+            case DELETE -> builder("/" + deleteId).DELETE().build();
+        };
+
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            boolean ok = response.statusCode() / 100 == 2;
+            if (ok && endpoint == Endpoint.CREATE) {
+                createdIds.offer(objectMapper.readTree(response.body()).get("postId").asLong());
+            }
+            return new Result(endpoint, ok);
+        } catch (IOException e) {
+            return new Result(endpoint, false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Result(endpoint, false);
+        }
+    }
+
+    private long randomSeededId() {
+        return seededIds[ThreadLocalRandom.current().nextInt(seededIds.length)];
+    }
+
+    private HttpRequest.Builder builder(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUri + path)).timeout(TIMEOUT);
+    }
+
+    private static HttpRequest.Builder json(HttpRequest.Builder builder) {
+        return builder.header("Content-Type", "application/json");
+    }
+
+    static class Result {
+
+        final Endpoint endpoint;
+
+        final boolean ok;
+
+        Result(Endpoint endpoint, boolean ok) {
+            this.endpoint = endpoint;
+            this.ok = ok;
+        }
+    }
+}
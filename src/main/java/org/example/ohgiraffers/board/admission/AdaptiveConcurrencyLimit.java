@@ -0,0 +1,87 @@
+package org.example.ohgiraffers.board.admission;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.DoubleUnaryOperator;
+
+/** AdaptiveConcurrencyLimit
+ * 동시에 처리할 요청 수의 상한을 응답 시간을 보고 스스로 조절한다. (AIMD: Additive Increase, Multiplicative Decrease)
+ * - 요청이 latencyThreshold 안에 끝나면: 상한을 조금씩(상한 하나를 다 채울 때마다 +1) 올린다.
+ * - 느리거나(latencyThreshold 초과) 서버 오류로 끝나면: 상한을 backoffRatio 만큼 곱해서 바로 줄인다.
+ * DB가 느려지면 상한이 빠르게 줄어서 커넥션 풀 앞에 요청이 쌓이지 않고, 나머지는 즉시 거절(503)된다.
+ * 상한에 여유가 있을 때(사용 중인 수가 상한의 절반 미만)는 늘리지 않는다. 부하가 없을 때 상한이 끝없이 커지지 않도록.
+ *
+ * 상한은 double 비트를 AtomicLong 에 보관하고, 사용 중인 수는 AtomicInteger 로 센다. (잠금 없음)
+ */
+public class AdaptiveConcurrencyLimit {
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final long latencyThresholdNanos;
+
+    private final double backoffRatio;
+
+    private final AtomicLong limitBits;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    public AdaptiveConcurrencyLimit(int initialLimit, int minLimit, int maxLimit, long latencyThresholdNanos, double backoffRatio) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("1 <= min-limit <= initial-limit <= max-limit 이어야 합니다.");
+        }
+        if (backoffRatio <= 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoff-ratio는 0과 1 사이여야 합니다.");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThresholdNanos;
+        this.backoffRatio = backoffRatio;
+        this.limitBits = new AtomicLong(Double.doubleToLongBits(initialLimit));
+    }
+
+    //상한 안이면 자리를 하나 차지하고 true. 반드시 release 로 돌려줘야 한다.
+    public boolean tryAcquire() {
+        int limit = getLimit();
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** 자리를 돌려주고 결과에 따라 상한을 조절한다.
+     * @param latencyNanos 요청 처리 시간
+     * @param failed 서버 오류(5xx, 예외)로 끝났는지
+     */
+    public void release(long latencyNanos, boolean failed) {
+        int using = inFlight.getAndDecrement();
+        if (failed || latencyNanos > latencyThresholdNanos) {
+            updateLimit(limit -> Math.max(minLimit, limit * backoffRatio));
+        } else if (using * 2 >= getLimit()) {
+            updateLimit(limit -> Math.min(maxLimit, limit + 1 / limit));
+        }
+    }
+
+    //상한은 그대로 두고 자리만 돌려준다. (스트리밍처럼 처리 시간이 부하와 무관한 요청)
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return (int) Double.longBitsToDouble(limitBits.get());
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private void updateLimit(DoubleUnaryOperator operator) {
+        limitBits.updateAndGet(bits -> Double.doubleToLongBits(operator.applyAsDouble(Double.longBitsToDouble(bits))));
+    }
+}
@@ -0,0 +1,214 @@
+package org.example.ohgiraffers.board.admission;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongSupplier;
+
+/** AdmissionControlFilter
+ * DB가 느려졌을 때 요청이 PostService 와 커넥션 풀 앞에 쌓여서 모든 요청이 함께 느려지지 않도록, 처리할 수 있는 만큼만 받아들인다.
+ * 1. 클라이언트별 토큰 버킷: 한 클라이언트가 초당 rate 개(순간 burst 개)를 넘게 보내면 429 Too Many Requests
+ * 2. 요청 종류(읽기/쓰기)별 동시 처리 상한(AdaptiveConcurrencyLimit): 상한을 넘으면 기다리지 않고 바로 503 Service Unavailable
+ * 두 경우 모두 Retry-After 헤더(초)를 내려준다.
+ *
+ * 클라이언트는 접속 IP 로 구분한다. 프록시 뒤에 있으면 X-Forwarded-For 의 오른쪽에서 trustedProxies 번째 항목을 쓴다.
+ * 앞쪽 항목은 클라이언트가 마음대로 넣을 수 있으므로, 믿을 수 있는 프록시가 붙인 항목만 본다.
+ *
+ * 읽기(GET, HEAD)와 쓰기를 따로 제한하므로, 쓰기가 느려져도 읽기 상한은 줄어들지 않는다.
+ * 비동기 응답(내보내기 등)은 응답이 끝났을 때 자리를 돌려준다. 처리 시간이 데이터 양에 따라 길어지므로 상한 조절에는 쓰지 않는다.
+ * 끝나지 않고 계속 열려 있는 응답(SSE 구독 등)은 핸들러가 LONG_LIVED_ATTRIBUTE 를 표시하고, 비동기가 시작되는 즉시 자리를 돌려준다.
+ * 일괄 처리/가져오기처럼 원래 오래 걸리는 요청은 핸들러가 BULK_ATTRIBUTE 를 표시하고, 처리 시간을 상한 조절에 쓰지 않는다.
+ * (그렇지 않으면 일괄 요청 하나마다 쓰기 상한이 줄어들어 일반 쓰기 요청이 503 으로 거절된다)
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    public enum RequestClass {
+        READ, WRITE
+    }
+
+    public static final String LONG_LIVED_ATTRIBUTE = AdmissionControlFilter.class.getName() + ".LONG_LIVED";
+
+    public static final String BULK_ATTRIBUTE = AdmissionControlFilter.class.getName() + ".BULK";
+
+    private final Map<RequestClass, AdaptiveConcurrencyLimit> limits;
+
+    private final Cache<String, TokenBucket> buckets;
+
+    private final double ratePerSecond;
+
+    private final int burst;
+
+    private final String clientHeader;     //클라이언트를 구분할 헤더 (없으면 접속 IP)
+
+    private final int trustedProxies;      //앞에 있는 믿을 수 있는 프록시 수
+
+    private final long overloadRetryAfterSeconds;
+
+    private final ObjectMapper objectMapper;
+
+    private final LongSupplier nanoClock;
+
+    private final Map<RequestClass, Counter> rateLimited = new EnumMap<>(RequestClass.class);
+
+    private final Map<RequestClass, Counter> overloaded = new EnumMap<>(RequestClass.class);
+
+    public AdmissionControlFilter(Map<RequestClass, AdaptiveConcurrencyLimit> limits, double ratePerSecond, int burst,
+                                  String clientHeader, int trustedProxies, Duration idleClientExpiry, Duration overloadRetryAfter,
+                                  ObjectMapper objectMapper, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+        this.limits = new EnumMap<>(limits);
+        this.ratePerSecond = ratePerSecond;
+        this.burst = burst;
+        this.clientHeader = clientHeader;
+        this.trustedProxies = trustedProxies;
+        this.overloadRetryAfterSeconds = Math.max(1, overloadRetryAfter.toSeconds());
+        this.objectMapper = objectMapper;
+        this.nanoClock = nanoClock;
+        //한동안 요청이 없던 클라이언트의 버킷은 버린다. (다시 오면 가득 찬 버킷으로 시작하므로 결과는 같다)
+        this.buckets = Caffeine.newBuilder()
+                .expireAfterAccess(idleClientExpiry)
+                .build();
+
+        for (RequestClass requestClass : RequestClass.values()) {
+            AdaptiveConcurrencyLimit limit = this.limits.get(requestClass);
+            String tag = requestClass.name().toLowerCase();
+            Gauge.builder("board.admission.limit", limit, AdaptiveConcurrencyLimit::getLimit).tag("class", tag).register(meterRegistry);
+            Gauge.builder("board.admission.in-flight", limit, AdaptiveConcurrencyLimit::getInFlight).tag("class", tag).register(meterRegistry);
+            rateLimited.put(requestClass, Counter.builder("board.admission.rejected").tag("class", tag).tag("reason", "rate-limit").register(meterRegistry));
+            overloaded.put(requestClass, Counter.builder("board.admission.rejected").tag("class", tag).tag("reason", "overload").register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        RequestClass requestClass = classify(request);
+        long now = nanoClock.getAsLong();
+
+        long waitNanos = buckets.get(clientKey(request), key -> new TokenBucket(ratePerSecond, burst, now)).tryAcquire(now);
+        if (waitNanos > 0) {
+            rateLimited.get(requestClass).increment();
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, ceilSeconds(waitNanos), "요청이 너무 많습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        AdaptiveConcurrencyLimit limit = limits.get(requestClass);
+        if (!limit.tryAcquire()) {
+            overloaded.get(requestClass).increment();
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, overloadRetryAfterSeconds, "서버가 처리할 수 있는 요청 수를 넘었습니다. 잠시 후 다시 시도해 주세요.");
+            return;
+        }
+
+        boolean failed = true;
+        try {
+            filterChain.doFilter(request, response);
+            failed = false;
+        } finally {
+            if (!failed && request.isAsyncStarted() && request.getAttribute(LONG_LIVED_ATTRIBUTE) != null) {
+                limit.release();
+            } else if (!failed && request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new AsyncRelease(limit));
+            } else if (request.getAttribute(BULK_ATTRIBUTE) != null) {
+                limit.release();
+            } else {
+                limit.release(nanoClock.getAsLong() - now, failed || response.getStatus() >= 500);
+            }
+        }
+    }
+
+    static RequestClass classify(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method) ? RequestClass.READ : RequestClass.WRITE;
+    }
+
+    /** X-Forwarded-For 는 "client, proxy1, proxy2" 형식으로, 프록시마다 자신에게 접속한 주소를 오른쪽에 붙인다.
+     * 가장 앞(왼쪽) 항목은 클라이언트가 보낸 값 그대로일 수 있어서, 매 요청 바꿔 보내면 속도 제한을 피할 수 있다.
+     * 그래서 믿을 수 있는 프록시가 붙인 오른쪽 trustedProxies 개 중 가장 왼쪽 항목(마지막 프록시가 본 접속 주소)을 쓴다.
+     * 항목이 그보다 적으면 프록시를 거치지 않은 요청이므로 접속 IP 를 쓴다.
+     */
+    String clientKey(HttpServletRequest request) {
+        if (clientHeader != null && trustedProxies > 0) {
+            String value = request.getHeader(clientHeader);
+            if (value != null && !value.isBlank()) {
+                String[] hops = value.split(",");
+                if (hops.length >= trustedProxies) {
+                    String hop = hops[hops.length - trustedProxies].trim();
+                    if (!hop.isEmpty()) {
+                        return hop;
+                    }
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String detail) throws IOException {
+        response.setStatus(status.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_PROBLEM_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ProblemDetail.forStatusAndDetail(status, detail));
+    }
+
+    private static long ceilSeconds(long nanos) {
+        return Math.max(1, (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    //비동기 응답이 끝나면(complete/timeout/error 중 먼저 온 이벤트에서) 한 번만 자리를 돌려준다.
+    private static final class AsyncRelease implements AsyncListener {
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private AsyncRelease(AdaptiveConcurrencyLimit limit) {
+            this.limit = limit;
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                limit.release();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            release();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);  //비동기가 다시 시작되면 리스너가 지워지므로 다시 등록
+        }
+    }
+}
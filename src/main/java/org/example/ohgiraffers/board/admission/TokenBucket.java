@@ -0,0 +1,45 @@
+package org.example.ohgiraffers.board.admission;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** TokenBucket
+ * 초당 rate 개씩 채워지고 최대 burst 개까지 쌓이는 토큰 버킷. 요청 하나가 토큰 하나를 쓴다.
+ *
+ * 토큰 수와 마지막 충전 시각을 따로 두지 않고, "버킷이 다시 가득 차는 시각" 하나만 AtomicLong 에 보관한다. (GCRA 방식)
+ * 요청마다 그 시각을 토큰 하나만큼(1 / rate 초) 뒤로 미는데, 지금보다 burst 개 분량 이상 앞서게 되면 거절한다.
+ * 값 하나를 CAS 로만 바꾸므로 잠금 없이 여러 스레드가 동시에 사용할 수 있다.
+ */
+public class TokenBucket {
+
+    private final long intervalNanos;   //토큰 하나가 채워지는 시간
+
+    private final long capacityNanos;   //burst 개가 채워지는 시간
+
+    private final AtomicLong fullAt;    //이 시각이 지나면 버킷이 가득 차 있다.
+
+    public TokenBucket(double ratePerSecond, int burst, long nowNanos) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("rate는 0보다 크고 burst는 1 이상이어야 합니다.");
+        }
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /** 토큰 하나를 사용한다.
+     * @return 사용했으면 0, 토큰이 없으면 다음 토큰이 채워질 때까지 기다려야 하는 시간(ns)
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long ahead = next - nowNanos;
+            if (ahead > capacityNanos) {
+                return ahead - capacityNanos;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
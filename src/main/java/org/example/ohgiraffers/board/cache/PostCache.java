@@ -0,0 +1,77 @@
+package org.example.ohgiraffers.board.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/** PostCache
+ * readPostById 결과(ReadPostResponse)를 인스턴스 메모리에 보관하는 로컬 캐시.
+ * Caffeine은 크기 제한을 넘으면 접근 빈도(W-TinyLFU)를 기준으로 덜 쓰이는 게시글부터 내보낸다.
+ * hit/miss/eviction 지표는 actuator의 /actuator/metrics/cache.* 로 확인할 수 있다.
+ *
+ * 게시글이 바뀌면 PostChangedEvent를 받아서 해당 항목을 지운다.
+ * (현재 인스턴스의 변경은 커밋 직후, 다른 인스턴스의 변경은 변경 로그 폴링 시점)
+ */
+@Component
+public class PostCache {
+
+    private final Cache<Long, ReadPostResponse> cache;
+
+    //무효화가 일어날 때마다 증가하는 값. DB에서 읽는 도중에 무효화된 오래된 값이 캐시에 남지 않도록 비교하는데 사용한다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public PostCache(MeterRegistry meterRegistry,
+                     @Value("${board.cache.post.maximum-size:10000}") long maximumSize,
+                     @Value("${board.cache.post.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post");
+    }
+
+    //캐시된 게시글을 반환한다. 없으면 null
+    public ReadPostResponse get(Long postId) {
+        return cache.getIfPresent(postId);
+    }
+
+    //DB에서 읽기 전에 호출해서, put 할 때 넘겨준다.
+    public long generation() {
+        return generation.get();
+    }
+
+    //DB에서 읽은 값을 저장한다. 읽는 사이에 무효화가 있었다면 방금 넣은 값을 다시 지운다.
+    public void put(Long postId, ReadPostResponse response, long readGeneration) {
+        cache.put(postId, response);
+        if (generation.get() != readGeneration) {
+            cache.invalidate(postId);
+        }
+    }
+
+    //DB에 반영된 조회수를 캐시된 값에도 더한다. 캐시에 없으면 아무것도 하지 않는다.
+    public void addViews(Long postId, long delta) {
+        cache.asMap().computeIfPresent(postId, (id, cached) -> new ReadPostResponse(cached.getPostId(), cached.getTitle(),
+                cached.getContent(), cached.getVersion(), cached.getViewCount() + delta));
+    }
+
+    public void evict(Long postId) {
+        generation.incrementAndGet();
+        cache.invalidate(postId);
+    }
+
+    //트랜잭션 안에서 발행된 이벤트는 커밋 이후에, 폴링으로 발행된 이벤트(트랜잭션 없음)는 바로 처리된다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evict(event.getPostId());
+    }
+}
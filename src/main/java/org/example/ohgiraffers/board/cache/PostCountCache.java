@@ -0,0 +1,64 @@
+package org.example.ohgiraffers.board.cache;
+
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** PostCountCache
+ * 전체 게시글 수(삭제 표시된 게시글 제외)를 메모리에 보관한다. 목록 조회(Page)마다 select count(*) 로 post 테이블 전체를 세지 않기 위해서다.
+ * 생성/삭제 이벤트(PostChangedEvent)를 받을 때마다 +1/-1 하고, 주기적으로 DB의 count 와 맞춘다.
+ * (다른 인스턴스의 생성/삭제는 변경 로그 폴링 시점에 반영되므로, 그 사이에는 조금 어긋날 수 있다)
+ *
+ * 전체 개수 = base(마지막으로 센 값 기준) + adjustments(이벤트로 더한 값의 누적)
+ * 다시 셀 때는 count 쿼리 시작 전의 adjustments 를 빼서 base 를 정하므로, 세는 도중 들어온 이벤트도 잃지 않는다.
+ */
+@Component
+public class PostCountCache {
+
+    private final PostRepository postRepository;
+
+    private final AtomicLong adjustments = new AtomicLong();
+
+    private volatile long base;
+
+    private volatile boolean loaded;
+
+    public PostCountCache(PostRepository postRepository) {
+        this.postRepository = postRepository;
+    }
+
+    //전체 게시글 수. 처음 호출될 때 한 번만 DB에서 센다.
+    public long count() {
+        if (!loaded) {
+            load();
+        }
+        return Math.max(0, base + adjustments.get());
+    }
+
+    @Scheduled(fixedDelayString = "${board.post-count.reconcile-interval:60000}")
+    public void reconcile() {
+        load();
+    }
+
+    private synchronized void load() {
+        long before = adjustments.get();
+        long counted = postRepository.countLive();
+        base = counted - before;
+        loaded = true;
+    }
+
+    //트랜잭션 안에서 발행된 이벤트는 커밋 이후에, 폴링으로 발행된 이벤트(트랜잭션 없음)는 바로 처리된다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        if (event.getChangeType() == PostChangeType.CREATED) {
+            adjustments.incrementAndGet();
+        } else if (event.getChangeType() == PostChangeType.DELETED) {
+            adjustments.decrementAndGet();
+        }
+    }
+}
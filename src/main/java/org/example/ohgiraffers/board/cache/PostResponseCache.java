@@ -0,0 +1,134 @@
+package org.example.ohgiraffers.board.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/** PostResponseCache
+ * 단건 조회 응답을 JSON 직렬화가 끝난 바이트(+ gzip 압축본)로 보관하는 캐시.
+ * 캐시에 있으면 ReadPostResponse 생성, Jackson 직렬화, 압축 없이 바이트를 그대로 응답 스트림에 쓴다. (PostController.postRead)
+ *
+ * Caffeine 의 크기 제한(바이트 기준)을 넘으면 접근 빈도가 낮은 게시글부터 내보내므로 자주 조회되는 게시글만 남는다.
+ * 본문은 버전(ETag)이 같으면 바뀌지 않는다. 조회수는 본문이 아닌 X-View-Count 헤더로 응답할 때마다 따로 구하므로 보관하지 않고,
+ * 게시글이 수정/삭제되어 PostChangedEvent 가 올 때까지 보관한다. (expire-after-write 는 무효화를 놓쳤을 때를 위한 상한)
+ * gzip 압축본은 처음으로 gzip 을 받겠다는 요청이 왔을 때 만들어서 함께 보관한다.
+ */
+@Component
+public class PostResponseCache {
+
+    private static final int GZIP_MIN_SIZE = 1024;  //이보다 작은 응답은 압축해도 이득이 거의 없다.
+
+    /** 직렬화된 응답. gzip 은 아직 압축하지 않았으면 null */
+    public record Entry(long version, byte[] json, byte[] gzip) {
+        int weight() {
+            return json.length + (gzip == null ? 0 : gzip.length);
+        }
+    }
+
+    private final Cache<Long, Entry> cache;
+
+    private final ObjectWriter writer;
+
+    private final int maxEntrySize;
+
+    //PostCache 와 같은 방식으로, 만드는 도중 무효화된 오래된 응답이 남지 않게 한다.
+    private final AtomicLong generation = new AtomicLong();
+
+    public PostResponseCache(ObjectMapper objectMapper, MeterRegistry meterRegistry,
+                             @Value("${board.cache.post-body.maximum-weight:67108864}") long maximumWeight,
+                             @Value("${board.cache.post-body.max-entry-size:262144}") int maxEntrySize,
+                             @Value("${board.cache.post-body.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.writer = objectMapper.writerFor(ReadPostResponse.class);
+        this.maxEntrySize = maxEntrySize;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((Long postId, Entry entry) -> entry.weight())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post-body");
+    }
+
+    public Entry get(Long postId) {
+        return cache.getIfPresent(postId);
+    }
+
+    //게시글을 읽기 전에 호출해서, put 할 때 넘겨준다.
+    public long generation() {
+        return generation.get();
+    }
+
+    /** 응답을 직렬화해서 저장하고 반환한다.
+     * max-entry-size 보다 큰 응답은 저장하지 않고 null 을 반환한다. (호출한 쪽에서 일반 응답으로 처리)
+     */
+    public Entry put(ReadPostResponse response, long readGeneration) {
+        byte[] json;
+        try {
+            json = writer.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("게시글 응답 직렬화 실패", e);
+        }
+        if (json.length > maxEntrySize) {
+            return null;
+        }
+        Entry entry = new Entry(response.getVersion() == null ? 0 : response.getVersion(), json, null);
+
+        cache.put(response.getPostId(), entry);
+        if (generation.get() != readGeneration) {
+            cache.invalidate(response.getPostId());
+        }
+        return entry;
+    }
+
+    /** entry 의 gzip 압축본. 작아서 압축하지 않는 응답이면 null
+     * 처음 요청될 때 압축해서 캐시의 항목을 바꿔 넣는다. (크기도 다시 계산된다)
+     * 그 사이 무효화되었거나 다른 요청이 먼저 바꿔 넣었다면 캐시는 그대로 두고 압축본만 반환한다.
+     */
+    public byte[] gzip(Long postId, Entry entry) {
+        if (entry.gzip() != null) {
+            return entry.gzip();
+        }
+        if (entry.json().length < GZIP_MIN_SIZE) {
+            return null;
+        }
+        Entry compressed = new Entry(entry.version(), entry.json(), gzip(entry.json()));
+        cache.asMap().replace(postId, entry, compressed);
+        return compressed.gzip();
+    }
+
+    public void evict(Long postId) {
+        generation.incrementAndGet();
+        cache.invalidate(postId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        evict(event.getPostId());
+    }
+
+    private static byte[] gzip(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,48 @@
+package org.example.ohgiraffers.board.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ohgiraffers.board.admission.AdaptiveConcurrencyLimit;
+import org.example.ohgiraffers.board.admission.AdmissionControlFilter;
+import org.example.ohgiraffers.board.admission.AdmissionControlFilter.RequestClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Map;
+
+/** AdmissionControlConfig
+ * /api/* 요청 앞에 AdmissionControlFilter 를 등록한다. (board.admission.enabled=false 면 등록하지 않음)
+ * 거절할 요청은 트랜잭션, 커넥션, 다른 필터의 작업 없이 바로 응답하도록 가장 먼저 실행한다.
+ * 지표: board.admission.limit / board.admission.in-flight {class}, board.admission.rejected {class, reason}
+ */
+@Configuration
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+@ConditionalOnProperty(name = "board.admission.enabled", matchIfMissing = true)
+public class AdmissionControlConfig {
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilter(AdmissionControlProperties properties,
+                                                                                ObjectMapper objectMapper,
+                                                                                MeterRegistry meterRegistry) {
+        AdmissionControlFilter filter = new AdmissionControlFilter(
+                Map.of(RequestClass.READ, concurrencyLimit(properties.getRead()),
+                        RequestClass.WRITE, concurrencyLimit(properties.getWrite())),
+                properties.getRatePerSecond(), properties.getBurst(), properties.getClientHeader(),
+                properties.getTrustedProxies(), properties.getIdleClientExpiry(), properties.getOverloadRetryAfter(),
+                objectMapper, meterRegistry, System::nanoTime);
+
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+
+    private static AdaptiveConcurrencyLimit concurrencyLimit(AdmissionControlProperties.Limit limit) {
+        return new AdaptiveConcurrencyLimit(limit.getInitialLimit(), limit.getMinLimit(), limit.getMaxLimit(),
+                limit.getLatencyThreshold().toNanos(), limit.getBackoffRatio());
+    }
+}
@@ -0,0 +1,58 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/** AdmissionControlProperties
+ * board.admission.* 설정. 클라이언트별 요청 속도 제한과 읽기/쓰기별 동시 처리 상한(AdmissionControlConfig)
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "board.admission")
+public class AdmissionControlProperties {
+
+    private boolean enabled = true;
+
+    //클라이언트 하나가 초당 보낼 수 있는 요청 수와, 순간적으로 몰아서 보낼 수 있는 요청 수
+    private double ratePerSecond = 50;
+    private int burst = 100;
+
+    //클라이언트를 구분할 헤더. 프록시(로드밸런서) 뒤에 있으면 X-Forwarded-For, 비워두면 접속 IP
+    private String clientHeader;
+
+    //앞에 있는 믿을 수 있는 프록시 수. clientHeader 의 오른쪽에서 이 번째 항목을 클라이언트로 본다. (왼쪽 항목은 클라이언트가 꾸밀 수 있음)
+    private int trustedProxies = 1;
+
+    //이 시간 동안 요청이 없던 클라이언트의 토큰 버킷은 메모리에서 지운다.
+    private Duration idleClientExpiry = Duration.ofMinutes(10);
+
+    //동시 처리 상한을 넘어 거절할 때 Retry-After 로 알려줄 시간
+    private Duration overloadRetryAfter = Duration.ofSeconds(1);
+
+    private Limit read = new Limit(50, 200, Duration.ofMillis(200));
+
+    private Limit write = new Limit(20, 100, Duration.ofMillis(500));
+
+    @Getter
+    @Setter
+    public static class Limit {
+        private int initialLimit;
+        private int minLimit = 1;
+        private int maxLimit;
+        //처리 시간이 이 값을 넘으면 과부하로 보고 상한을 backoffRatio 배로 줄인다.
+        private Duration latencyThreshold;
+        private double backoffRatio = 0.9;
+
+        public Limit() {
+        }
+
+        Limit(int initialLimit, int maxLimit, Duration latencyThreshold) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+            this.latencyThreshold = latencyThreshold;
+        }
+    }
+}
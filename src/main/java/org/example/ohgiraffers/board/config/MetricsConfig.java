@@ -0,0 +1,34 @@
+package org.example.ohgiraffers.board.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.ohgiraffers.board.metrics.CountingStatementInspector;
+import org.example.ohgiraffers.board.metrics.RequestSqlMetricsFilter;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/** MetricsConfig
+ * 요청/SQL 지표 설정. (/actuator/metrics, /actuator/prometheus)
+ * - http.server.requests: 엔드포인트별 응답 시간 분포 (application.yml의 percentiles-histogram 설정)
+ * - board.request.sql.statements / board.request.entities.loaded: 요청당 SQL 문 수, 엔티티 로드 수
+ * - board.post.transaction: PostService 메서드별 트랜잭션 시간
+ * - hikaricp.connections.active / pending: 커넥션 풀 사용 중/대기 수 (actuator 기본 제공)
+ */
+@Configuration
+public class MetricsConfig {
+
+    //Hibernate가 실행하는 모든 SQL을 세도록 StatementInspector를 등록한다.
+    @Bean
+    public HibernatePropertiesCustomizer statementCountingCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, new CountingStatementInspector());
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestSqlMetricsFilter> requestSqlMetricsFilter(MeterRegistry meterRegistry) {
+        FilterRegistrationBean<RequestSqlMetricsFilter> registration = new FilterRegistrationBean<>(new RequestSqlMetricsFilter(meterRegistry));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.ohgiraffers.board.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/** ReadReplicaConfig
+ * board.datasource.replicas 가 설정되어 있을 때만 동작하는 읽기/쓰기 분리 설정.
+ * - primary: spring.datasource.* (+ spring.datasource.hikari.*) 로 만든 커넥션 풀
+ * - replica: board.datasource.replicas[n] 마다 읽기 전용 커넥션 풀
+ * @Transactional(readOnly = true) 인 PostService 조회 메서드는 replica 에서, 나머지는 primary 에서 실행된다.
+ *
+ * 풀은 빈으로 등록하지 않고 ReadWriteRoutingDataSource 안에서만 관리한다. (DataSource 빈은 하나, 종료 시 함께 close)
+ * 그래서 Boot 가 DataSource 빈에 붙이는 hikaricp.* 지표가 생기지 않으므로, 풀마다 직접 MeterRegistry 를 연결한다. (hikaricp.connections{pool=primary|replica 이름})
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties(ReadReplicaProperties.class)
+@ConditionalOnProperty(name = "board.datasource.replicas[0].url")
+public class ReadReplicaConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties, ReadReplicaProperties replicaProperties,
+                                 Environment environment, MeterRegistry meterRegistry) {
+
+        MicrometerMetricsTrackerFactory metricsTrackerFactory = new MicrometerMetricsTrackerFactory(meterRegistry);
+
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName("primary");
+        primary.setMetricsTrackerFactory(metricsTrackerFactory);
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < replicaProperties.getReplicas().size(); i++) {
+            ReadReplicaProperties.Replica replica = replicaProperties.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + i;
+            HikariDataSource pool = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .driverClassName(dataSourceProperties.determineDriverClassName())
+                    .url(replica.getUrl())
+                    .username(replica.getUsername() != null ? replica.getUsername() : dataSourceProperties.determineUsername())
+                    .password(replica.getPassword() != null ? replica.getPassword() : dataSourceProperties.determinePassword())
+                    .build();
+            pool.setPoolName(name);
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            pool.setMetricsTrackerFactory(metricsTrackerFactory);
+            replicas.put(name, pool);
+        }
+        log.info("읽기/쓰기 분리: primary + replica {}", replicas.keySet());
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    //가상 스레드 모드에서는 DataSource 빈이 ConcurrencyLimitedDataSource 로 감싸지므로 unwrap 으로 꺼낸다.
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSource dataSource, ReadReplicaProperties replicaProperties) throws SQLException {
+        return new ReplicaLagMonitor(dataSource.unwrap(ReadWriteRoutingDataSource.class),
+                replicaProperties.getLagQuery(), replicaProperties.getMaxReplicaLag(), replicaProperties.getLagCheckTimeout());
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(ReadReplicaProperties replicaProperties) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(replicaProperties.getReadYourWrites()));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/** ReadReplicaProperties
+ * board.datasource.* 설정. replicas 가 하나 이상 있을 때만 읽기/쓰기 분리(ReadReplicaConfig)가 동작한다.
+ * primary 는 기존 spring.datasource.* 설정을 그대로 사용한다.
+ */
+@Getter
+@Setter
+@ConfigurationProperties(prefix = "board.datasource")
+public class ReadReplicaProperties {
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    //복제 지연이 이 값보다 크거나 확인할 수 없는 replica 는 지연이 줄어들 때까지 사용하지 않는다.
+    private Duration maxReplicaLag = Duration.ofSeconds(5);
+
+    //복제 지연 확인 쿼리. Seconds_Behind_Master(Source) 컬럼이 있으면 그 값을, 없으면 첫 번째 컬럼을 지연(초)으로 사용한다.
+    private String lagQuery = "SHOW SLAVE STATUS";
+
+    //복제 지연 확인(커넥션 + 쿼리)을 기다리는 시간. 넘으면 확인 실패로 보고 그 replica 를 사용하지 않는다.
+    private Duration lagCheckTimeout = Duration.ofSeconds(1);
+
+    //쓰기 요청을 보낸 클라이언트는 이 시간 동안 읽기도 primary 에서 한다. (방금 쓴 글이 replica 에 아직 없을 수 있으므로)
+    private Duration readYourWrites = Duration.ofSeconds(10);
+
+    @Getter
+    @Setter
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
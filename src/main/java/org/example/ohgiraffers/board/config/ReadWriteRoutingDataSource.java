@@ -0,0 +1,139 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/** ReadWriteRoutingDataSource
+ * readOnly 트랜잭션은 replica 로, 나머지(쓰기 트랜잭션, 트랜잭션 밖)는 primary 로 보내는 DataSource.
+ *
+ * 트랜잭션 매니저는 트랜잭션을 시작할 때 바로 커넥션을 얻지만, readOnly 여부는 그 다음에 설정된다.
+ * 그래서 LazyConnectionDataSourceProxy 로 실제 커넥션을 첫 SQL 실행 시점까지 미루고, 그때 readOnly 를 보고 대상을 고른다.
+ *
+ * replica 가 여러 개면 돌아가면서(round-robin) 사용하고, 사용할 수 있는 replica 가 없으면 primary 에서 읽는다.
+ * 현재 스레드에 requirePrimary 가 설정되어 있으면(ReadYourWritesFilter) 읽기도 primary 로 보낸다.
+ * 결과를 캐시에 넣을 읽기처럼 다른 클라이언트에게도 보여줄 값은 onPrimary 로 primary 에서 읽는다.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_REQUIRED = new ThreadLocal<>();
+
+    private final DataSource primary;
+
+    private final Map<String, DataSource> replicas;
+
+    private final Map<String, Boolean> available = new ConcurrentHashMap<>();
+
+    private final List<String> replicaNames;
+
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas) {
+        this.primary = primary;
+        this.replicas = new LinkedHashMap<>(replicas);
+        this.replicaNames = List.copyOf(replicas.keySet());
+        this.replicaNames.forEach(name -> available.put(name, true));
+
+        Router router = new Router();
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        router.setTargetDataSources(targets);
+        router.setDefaultTargetDataSource(primary);
+        router.afterPropertiesSet();
+        setTargetDataSource(router);
+        afterPropertiesSet();
+    }
+
+    //현재 스레드의 읽기를 primary 로 고정한다. 반드시 clearPrimaryRequired 와 짝을 맞춰 호출해야 한다.
+    public static void requirePrimary() {
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+    }
+
+    public static void clearPrimaryRequired() {
+        PRIMARY_REQUIRED.remove();
+    }
+
+    /** action 안의 읽기만 primary 로 보낸다. 끝나면 이전 설정(ReadYourWritesFilter 의 requirePrimary)으로 되돌린다.
+     * replica 는 최대 max-replica-lag 만큼 늦을 수 있어서, 수정 직후 replica 에서 읽은 값을 캐시에 넣으면
+     * 무효화가 끝난 뒤에 옛 값이 들어가 만료될 때까지 모든 클라이언트에게 보인다.
+     */
+    public static <T> T onPrimary(Supplier<T> action) {
+        Boolean previous = PRIMARY_REQUIRED.get();
+        PRIMARY_REQUIRED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                PRIMARY_REQUIRED.remove();
+            }
+        }
+    }
+
+    public Map<String, DataSource> getReplicas() {
+        return replicas;
+    }
+
+    //복제 지연 확인 결과를 반영한다. (ReplicaLagMonitor)
+    public void setAvailable(String replicaName, boolean isAvailable) {
+        Boolean previous = available.put(replicaName, isAvailable);
+        if (previous != null && previous != isAvailable) {
+            log.warn("replica {} {}", replicaName, isAvailable ? "다시 사용" : "사용 중지 (복제 지연 또는 연결 실패)");
+        }
+    }
+
+    public boolean isAvailable(String replicaName) {
+        return Boolean.TRUE.equals(available.get(replicaName));
+    }
+
+    //이번 커넥션을 어느 DataSource 에서 얻을지 고른다.
+    String determineTarget() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PRIMARY_REQUIRED.get() != null) {
+            return PRIMARY;
+        }
+        int size = replicaNames.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            String name = replicaNames.get((start + i) % size);
+            if (isAvailable(name)) {
+                return name;
+            }
+        }
+        return PRIMARY;     //모든 replica 가 지연 중이면 primary 에서 읽는다.
+    }
+
+    @Override
+    public void close() throws IOException {
+        close(primary);
+        for (DataSource replica : replicas.values()) {
+            close(replica);
+        }
+    }
+
+    private void close(DataSource dataSource) throws IOException {
+        if (dataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    private class Router extends AbstractRoutingDataSource {
+        @Override
+        protected Object determineCurrentLookupKey() {
+            return determineTarget();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.ohgiraffers.board.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+
+/** ReadYourWritesFilter
+ * 클라이언트가 쓰기 요청(POST, PUT, PATCH, DELETE)을 보내면 쿠키에 그 시각을 남기고,
+ * 그 뒤 window 동안 같은 클라이언트의 읽기 요청은 replica 대신 primary 에서 읽게 한다.
+ * -> 방금 작성/수정한 글을 바로 조회했을 때, 아직 복제되지 않은 replica 에서 옛 데이터를 읽지 않는다.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "board-last-write";
+
+    private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+    private final long windowMillis;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowMillis = window.toMillis();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        long now = System.currentTimeMillis();
+        if (WRITE_METHODS.contains(request.getMethod())) {
+            Cookie cookie = new Cookie(COOKIE_NAME, Long.toString(now));
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, (windowMillis + 999) / 1000));
+            response.addCookie(cookie);     //응답 본문보다 먼저 헤더에 넣어야 하므로 처리 전에 추가한다.
+        }
+
+        if (!wroteRecently(request, now)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        ReadWriteRoutingDataSource.requirePrimary();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadWriteRoutingDataSource.clearPrimaryRequired();
+        }
+    }
+
+    private boolean wroteRecently(HttpServletRequest request, long now) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return now - Long.parseLong(cookie.getValue()) < windowMillis;
+                } catch (NumberFormatException e) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+}
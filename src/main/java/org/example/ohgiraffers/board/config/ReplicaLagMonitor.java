@@ -0,0 +1,130 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/** ReplicaLagMonitor
+ * 주기적으로 replica 마다 복제 지연을 확인해서, maxReplicaLag 보다 늦거나 확인할 수 없는 replica 는 읽기 대상에서 뺀다.
+ * 지연이 다시 줄어들면 자동으로 읽기 대상에 포함된다.
+ *
+ * 확인(커넥션 얻기 + 쿼리)은 스케줄러 스레드가 아닌 전용 스레드에서 하고, checkTimeout 까지만 기다린다.
+ * replica 가 죽어서 커넥션을 얻는 데 풀의 connection-timeout(30초)이 걸려도 스케줄러를 같이 쓰는 다른 작업은 늦어지지 않는다.
+ * 지난 확인이 아직 끝나지 않은 replica 는 새로 확인하지 않고 사용하지 않는 것으로 본다. (replica 하나당 확인 스레드는 최대 1개)
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String[] LAG_COLUMNS = {"Seconds_Behind_Source", "Seconds_Behind_Master"};
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    private final String lagQuery;
+
+    private final Duration maxReplicaLag;
+
+    private final Duration checkTimeout;
+
+    private final ExecutorService checker = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "replica-lag-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Future<Duration>> inFlight = new ConcurrentHashMap<>();
+
+    public ReplicaLagMonitor(ReadWriteRoutingDataSource routingDataSource, String lagQuery, Duration maxReplicaLag,
+                             Duration checkTimeout) {
+        this.routingDataSource = routingDataSource;
+        this.lagQuery = lagQuery;
+        this.maxReplicaLag = maxReplicaLag;
+        this.checkTimeout = checkTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${board.datasource.lag-check-interval:1000}")
+    public void check() {
+        Map<String, Future<Duration>> checks = new LinkedHashMap<>();
+        for (Map.Entry<String, DataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            String name = replica.getKey();
+            Future<Duration> previous = inFlight.get(name);
+            if (previous != null && !previous.isDone()) {
+                routingDataSource.setAvailable(name, false);
+                continue;
+            }
+            Future<Duration> check = checker.submit(() -> readLag(name, replica.getValue()));
+            inFlight.put(name, check);
+            checks.put(name, check);
+        }
+
+        //replica 들을 동시에 확인하므로 전체 대기 시간도 checkTimeout 이다.
+        long deadline = System.nanoTime() + checkTimeout.toNanos();
+        for (Map.Entry<String, Future<Duration>> check : checks.entrySet()) {
+            Duration lag = await(check.getKey(), check.getValue(), deadline);
+            routingDataSource.setAvailable(check.getKey(), lag != null && lag.compareTo(maxReplicaLag) <= 0);
+        }
+    }
+
+    //Spring 이 빈을 없앨 때 호출한다. (@Bean 의 destroy 메서드 추론)
+    public void shutdown() {
+        checker.shutdownNow();
+    }
+
+    private Duration await(String name, Future<Duration> check, long deadline) {
+        try {
+            return check.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("replica {} 복제 지연 확인이 {} 안에 끝나지 않음", name, checkTimeout);
+            return null;
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    //복제 지연. 복제가 멈췄거나(null) 연결에 실패하면 null
+    Duration readLag(String name, DataSource replica) {
+        try (Connection connection = replica.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout((int) Math.max(1, checkTimeout.toSeconds()));    //기다리지 않게 된 쿼리도 DB 에서 정리되도록
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+                String seconds = resultSet.getString(lagColumn(resultSet.getMetaData()));
+                return seconds == null ? null : Duration.ofSeconds(Long.parseLong(seconds.trim()));
+            }
+        } catch (SQLException | NumberFormatException e) {
+            log.debug("replica {} 복제 지연 확인 실패", name, e);
+            return null;
+        }
+    }
+
+    private int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            for (String column : LAG_COLUMNS) {
+                if (column.equalsIgnoreCase(metaData.getColumnLabel(i))) {
+                    return i;
+                }
+            }
+        }
+        return 1;
+    }
+}
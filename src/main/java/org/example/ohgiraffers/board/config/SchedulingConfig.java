@@ -0,0 +1,39 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+import java.util.ArrayList;
+
+/** SchedulingConfig
+ * @Scheduled 메서드(변경 로그 폴링, 조회수 반영, 삭제 정리, replica 지연 확인 등)를 사용하기 위한 설정.
+ * board.startup.exit-on-ready=true (CDS 학습 실행)면 등록된 작업을 모두 비워서 하나도 시작하지 않는다.
+ * 작업 대부분이 DB 에 접속하므로, DB 없이 시작만 하고 종료하는 학습 실행에서는 돌지 않아야 한다.
+ * (AOT 는 조건을 빌드 시점에 고정하므로 @ConditionalOnProperty 대신 실행 시점에 값을 확인한다)
+ */
+@Slf4j
+@Configuration
+@EnableScheduling
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${board.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    //@Scheduled 메서드는 모든 빈이 만들어진 뒤 여기를 거쳐서 시작되므로, 이 시점에 목록을 비우면 아무것도 실행되지 않는다.
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        if (exitOnReady) {
+            log.info("board.startup.exit-on-ready=true: 예약 작업 {}개를 시작하지 않습니다.",
+                    registrar.getFixedDelayTaskList().size() + registrar.getFixedRateTaskList().size()
+                            + registrar.getCronTaskList().size() + registrar.getTriggerTaskList().size());
+            registrar.setFixedDelayTasksList(new ArrayList<>());
+            registrar.setFixedRateTasksList(new ArrayList<>());
+            registrar.setCronTasksList(new ArrayList<>());
+            registrar.setTriggerTasksList(new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.dto.PostSummaryResponse;
+import org.example.ohgiraffers.board.domain.dto.PostVersionResponse;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.context.event.EventListener;
+
+/** StartupConfig
+ * 빠른 시작 빌드(-PfastStartup: AOT, CDS, native image)를 위한 설정.
+ * - BoardRuntimeHints: native image 에서 리플렉션으로 쓰이는데 AOT 가 스스로 찾지 못하는 클래스를 등록한다.
+ * - board.startup.exit-on-ready=true 면 시작이 끝나자마자 종료한다. CDS 아카이브를 만드는 학습 실행(-XX:ArchiveClassesAtExit)에서 사용한다.
+ *   이때는 DB 에 접속하는 시작 후 작업도 하지 않는다. (SchedulingConfig 의 예약 작업, PostSearchService 의 색인 생성)
+ *   (AOT 는 조건을 빌드 시점에 고정하므로 @ConditionalOnProperty 대신 실행 시점에 값을 확인한다)
+ */
+@Slf4j
+@Configuration
+@ImportRuntimeHints(StartupConfig.BoardRuntimeHints.class)
+public class StartupConfig {
+
+    @Value("${board.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void exitIfTraining(ApplicationReadyEvent event) {
+        if (exitOnReady) {
+            log.info("board.startup.exit-on-ready=true: 시작 완료 후 종료합니다.");
+            System.exit(SpringApplication.exit(event.getApplicationContext()));
+        }
+    }
+
+    //PostRepository 의 생성자 프로젝션(select new ...)은 Hibernate 가 리플렉션으로 생성자를 호출한다. (select new 를 추가하면 여기에도 등록)
+    static class BoardRuntimeHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.reflection()
+                    .registerType(ReadPostResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                    .registerType(PostSummaryResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS)
+                    .registerType(PostVersionResponse.class, MemberCategory.INVOKE_PUBLIC_CONSTRUCTORS);
+        }
+    }
+}
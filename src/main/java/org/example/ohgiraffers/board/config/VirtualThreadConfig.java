@@ -0,0 +1,62 @@
+package org.example.ohgiraffers.board.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** VirtualThreadConfig
+ * board.threads.virtual=true (application-virtual.yml, "virtual" 프로필) 일 때만 동작하는 설정.
+ * Tomcat이 요청을 고정 크기 스레드 풀 대신 요청마다 새 가상 스레드에서 처리하도록 바꾼다.
+ * 컨트롤러 -> @Transactional 서비스 -> JDBC 호출까지 모두 같은 가상 스레드에서 실행되므로,
+ * DB를 기다리는 동안 OS 스레드를 붙잡고 있지 않는다.
+ *
+ * 빌드는 Java 17 기준이므로, 가상 스레드 API는 실행 시점에 리플렉션으로 찾는다. (JDK 21 이상에서 실행해야 함)
+ * 가상 스레드는 개수 제한이 없으므로 DataSource를 ConcurrencyLimitedDataSource로 감싸서 JDBC 동시 실행 수를 제한한다.
+ * 상한(board.jdbc.max-concurrency)을 따로 정하지 않으면 커넥션 풀 크기(spring.datasource.hikari.maximum-pool-size, Hikari 기본값 10)를 쓴다.
+ * 풀보다 크게 잡으면 남는 요청이 세마포어 대신 풀 안에서 connection-timeout 까지 기다리고, 작게 잡으면 풀의 커넥션이 놀게 된다.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "board.threads.virtual", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandlerCustomizer() {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        log.info("Tomcat 요청을 가상 스레드에서 처리합니다.");
+        return protocolHandler -> protocolHandler.setExecutor(executor);
+    }
+
+    //static: DataSource 같은 일반 빈보다 먼저 만들어져야 하는 BeanPostProcessor
+    @Bean
+    public static BeanPostProcessor jdbcConcurrencyLimiter(
+            @Value("${board.jdbc.max-concurrency:${spring.datasource.hikari.maximum-pool-size:10}}") int maxConcurrency,
+            @Value("${board.jdbc.acquire-timeout:2s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ConcurrencyLimitedDataSource)) {
+                    return new ConcurrencyLimitedDataSource(dataSource, maxConcurrency, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("가상 스레드 모드는 JDK 21 이상에서 실행해야 합니다. (board.threads.virtual=true)", e);
+        }
+    }
+}
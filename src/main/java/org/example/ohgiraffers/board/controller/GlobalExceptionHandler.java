@@ -0,0 +1,69 @@
+package org.example.ohgiraffers.board.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.time.Duration;
+
+/** @RestControllerAdvice
+ * 모든 컨트롤러에서 발생한 예외를 한 곳에서 HTTP 응답으로 바꿔준다.
+ */
+@Slf4j
+@RestControllerAdvice
+public class GlobalExceptionHandler {
+
+    private final long retryAfterSeconds;
+
+    public GlobalExceptionHandler(@Value("${board.jdbc.retry-after:1s}") Duration retryAfter) {
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    //잘못된 요청 값(예: 깨진 cursor) -> 400 Bad Request
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ProblemDetail handleIllegalArgument(IllegalArgumentException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST, e.getMessage());
+    }
+
+    //없는 게시글 -> 404 Not Found
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ProblemDetail handleEntityNotFound(EntityNotFoundException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND, e.getMessage());
+    }
+
+    //If-Match의 버전이 현재 버전과 다름 -> 412 Precondition Failed
+    @ExceptionHandler(OptimisticLockException.class)
+    public ProblemDetail handleOptimisticLock(OptimisticLockException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+    }
+
+    //같은 버전을 읽은 다른 요청이 먼저 수정함 -> 409 Conflict
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ProblemDetail handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException e) {
+        return ProblemDetail.forStatusAndDetail(HttpStatus.CONFLICT, "다른 요청이 먼저 게시글을 수정했습니다. 다시 조회한 뒤 수정해 주세요.");
+    }
+
+    /** DB 커넥션을 얻지 못함 -> 503 Service Unavailable + Retry-After
+     * 가상 스레드 모드에서 JDBC 동시 실행 한도(ConcurrencyLimitedDataSource)를 acquire-timeout 안에 얻지 못하면 SQLTransientConnectionException 이 나는데,
+     * 어디서 커넥션을 꺼냈는지에 따라 트랜잭션 시작(CannotCreateTransactionException), JdbcTemplate(CannotGetJdbcConnectionException),
+     * Hibernate(DataAccessResourceFailureException) 등으로 바뀌어 올라온다. 모두 잠시 뒤 다시 보내면 되는 요청이므로 500 대신 503 으로 응답한다.
+     */
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class, TransientDataAccessResourceException.class})
+    public ResponseEntity<ProblemDetail> handleConnectionUnavailable(RuntimeException e) {
+        log.warn("DB 커넥션을 얻지 못해 503 으로 응답합니다: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .body(ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 처리하지 못했습니다. 잠시 후 다시 시도해 주세요."));
+    }
+}
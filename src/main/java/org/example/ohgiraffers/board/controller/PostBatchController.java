@@ -0,0 +1,75 @@
+package org.example.ohgiraffers.board.controller;
+
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.admission.AdmissionControlFilter;
+import org.example.ohgiraffers.board.domain.dto.*;
+import org.example.ohgiraffers.board.service.PostBatchService;
+import org.example.ohgiraffers.board.service.PostImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/** PostBatchController
+ * 여러 게시글을 한 번의 요청으로 생성/수정/삭제하는 API. (마이그레이션 작업용)
+ * "/api/v1/posts:batch" 처럼 컬렉션 경로 뒤에 붙는 형태라서 PostController의 "/api/v1/posts" 매핑과 분리했다.
+ * 항목마다 결과가 다를 수 있으므로 응답 코드는 항상 200이고, 항목별 상태는 results에서 확인한다.
+ */
+@Tag(name = "posts", description = "게시글 API")
+@RestController
+@RequestMapping("/api/v1")
+@RequiredArgsConstructor
+public class PostBatchController {
+
+    private final PostBatchService postBatchService;
+
+    private final PostImportService postImportService;
+
+    //모든 핸들러 전에 실행된다. 항목 수만큼 오래 걸리는 요청이므로 처리 시간을 쓰기 동시 처리 상한 조절에 쓰지 않도록 표시한다.
+    @ModelAttribute
+    void markBulk(HttpServletRequest request) {
+        request.setAttribute(AdmissionControlFilter.BULK_ATTRIBUTE, true);
+    }
+
+    @PostMapping("/posts:batch")
+    @Operation(summary = "✏✏✏게시글 일괄 작성✒✒✒", description = "제목(title), 내용(content) 목록 입력하기")
+    public ResponseEntity<BatchPostResponse> postCreateBatch(@RequestBody List<CreatePostRequest> requests) {
+        BatchPostResponse response = postBatchService.createPosts(requests);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PutMapping("/posts:batch")
+    @Operation(summary = "🛠🛠🛠게시글 일괄 수정🛠🛠🛠", description = "postId, 제목(title), 내용(content) 목록 입력하기")
+    public ResponseEntity<BatchPostResponse> postUpdateBatch(@RequestBody List<BatchUpdatePostRequest> requests) {
+        BatchPostResponse response = postBatchService.updatePosts(requests);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @DeleteMapping("/posts:batch")
+    @Operation(summary = "❌❌❌게시글 일괄 삭제❌❌❌", description = "삭제할 postId 목록 입력하기")
+    public ResponseEntity<BatchPostResponse> postDeleteBatch(@RequestBody List<Long> postIds) {
+        BatchPostResponse response = postBatchService.deletePosts(postIds);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/posts:import", consumes = "application/x-ndjson")
+    @Operation(summary = "📥📥📥게시글 가져오기 (NDJSON)📥📥📥", description = "한 줄에 하나씩 {\"title\", \"content\"} JSON 으로 된 본문을 스트리밍으로 저장하기")
+    public ResponseEntity<ImportPostResponse> postImportNdjson(InputStream body) throws IOException {
+        ImportPostResponse response = postImportService.importPosts(body, PostImportService.Format.NDJSON);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+
+    @PostMapping(value = "/posts:import", consumes = "text/csv")
+    @Operation(summary = "📥📥📥게시글 가져오기 (CSV)📥📥📥", description = "title,content 헤더가 있는 CSV 본문을 스트리밍으로 저장하기")
+    public ResponseEntity<ImportPostResponse> postImportCsv(InputStream body) throws IOException {
+        ImportPostResponse response = postImportService.importPosts(body, PostImportService.Format.CSV);
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
+}
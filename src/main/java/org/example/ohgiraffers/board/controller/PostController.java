@@ -3,17 +3,31 @@ package org.example.ohgiraffers.board.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.cache.PostResponseCache;
 import org.example.ohgiraffers.board.domain.dto.*;
+import org.example.ohgiraffers.board.search.PostSearchService;
+import org.example.ohgiraffers.board.service.PostExportService;
 import org.example.ohgiraffers.board.service.PostService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
 
 /** 레이어드 아키텍쳐
  * 소프트웨어를 여러개의 계층으로 분리해서 설계하는 방법
@@ -49,8 +63,17 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class PostController {   //게시물과 관련된 http 요청을 처리
 
+    //단건 조회의 조회수. 버전(ETag)이 같아도 바뀌는 값이라 본문이 아닌 헤더로 내려준다.
+    static final String VIEW_COUNT_HEADER = "X-View-Count";
+
     private final PostService postService;  //PostService클래스의 인스턴스를 가리키는 필드, 이필드를 통해 PostService에서 제공하는 기능을 호출
 
+    private final PostSearchService postSearchService;  //메모리 검색 색인을 사용하는 검색 서비스
+
+    private final PostExportService postExportService;  //전체 게시글 NDJSON 내보내기
+
+    private final PostResponseCache postResponseCache;  //직렬화된 단건 조회 응답(JSON, gzip) 캐시
+
     @PostMapping
     @Operation(summary = "✏✏✏게시글 작성✒✒✒", description = "제목(title), 내용(content) 입력하기")
 
@@ -67,11 +90,35 @@ public class PostController {   //게시물과 관련된 http 요청을 처리
     @Operation(summary = "▶▶▶게시글 불러오기◀◀◀", description = "제목(title), 내용(content) 보기")
 
     //특정 글을 읽는 기능을 수행하는 메서드
-    public ResponseEntity<ReadPostResponse> postRead(@PathVariable Long postID) {
+    //If-None-Match가 현재 버전(ETag)과 같으면 content를 읽지 않고 304 Not Modified로 응답한다. (X-View-Count 헤더로 현재 조회수는 알려준다)
+    //직렬화된 응답이 캐시에 있으면 ReadPostResponse를 만들지 않고 바이트를 그대로 쓴다. (조회수만 센다)
+    public ResponseEntity<ReadPostResponse> postRead(@PathVariable Long postID, WebRequest webRequest,
+                                                     HttpServletRequest servletRequest, HttpServletResponse servletResponse) throws IOException {
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            PostVersionResponse current = postService.readPostVersion(postID);
+            if (webRequest.checkNotModified(PostETag.of(current.getVersion()))) {
+                servletResponse.setHeader(VIEW_COUNT_HEADER, Long.toString(current.getViewCount()));
+                return null;    //checkNotModified가 304 상태와 ETag 헤더를 이미 설정했다.
+            }
+        }
+
+        PostResponseCache.Entry cached = postResponseCache.get(postID);
+        if (cached != null) {
+            long viewCount = postService.recordView(postID);
+            writeCached(postID, cached, viewCount, servletRequest, servletResponse);
+            return null;
+        }
+        long generation = postResponseCache.generation();
 //postRead: 메서드(특정 글을 읽는 역할), 해당 ID를 가진 글의 정보를 가져온다. , @PathVariable(요청한 URL에서 특정한 값(글의id)를 가져올때 사용) Long postID= 메서드가 받는 입력 값. postID는 url에서 전달되는 글의 고유한 식별자. 사용자가 읽고자하는 글의 id
         ReadPostResponse response = postService.readPostById(postID);
 //'postService'는 글을 읽는 데 필요한 로직이 담긴 서비스. 특정 id에 가진 글을 읽어오라는 요청을 보내고, 생성된 글에 대한 정보를 'response'에 받아옴.
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        PostResponseCache.Entry entry = postResponseCache.put(response, generation);   //직렬화는 여기서 한 번만 하고 그 바이트로 응답한다.
+        if (entry != null) {
+            writeCached(postID, entry, response.getViewCount(), servletRequest, servletResponse);
+            return null;
+        }
+        return ResponseEntity.ok().eTag(PostETag.of(response.getVersion()))
+                .header(VIEW_COUNT_HEADER, Long.toString(response.getViewCount())).body(response);  //캐시하기에 너무 큰 응답
     } // 메서드: 읽어온 글에 대한 정보를 클라이언트에 반환. 응답 상태 코드를 설정하고 요청이 성공적으로 처리됨을 알려준다.
     //요약: 특정 글을 읽는 요청을 받고, 해당 글의 정보를 가져와서 클라이언트에 반환하는 역할을 한다.
 
@@ -79,11 +126,16 @@ public class PostController {   //게시물과 관련된 http 요청을 처리
     @Operation(summary = "🛠🛠🛠게시글 수정🛠🛠🛠", description = "제목(title), 내용(content) 수정하기")
 
     //특정 글을 업데이트하는 기능을 담당하는 메서드.
-    public ResponseEntity<UpdatePostResponse> postUpdate(@PathVariable Long postId, @RequestBody UpdatePostRequest request) {
+    //If-Match가 있으면 그 버전일 때만 수정하고, 다르면 412 Precondition Failed
+    public ResponseEntity<UpdatePostResponse> postUpdate(@PathVariable Long postId, @RequestBody UpdatePostRequest request,
+                                                         @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
 //postUpdate: 메서드(특정 글을 업데이트 하는 역할), @PathVariable Long postId=메서드가 받는 첫 입력 값. postId=사용자가 업데이트하고자 하는 글의 id. "@RequestBody UpdatePostRequest request"=메서드가 받는 두 번째 값. "UpdatePostRequest" 업데이트할 글에 대한 정보를 담고 있다. 예) 새로운 제목이나/내용
-        UpdatePostResponse response = postService.updatePost(postId, request);
+        UpdatePostResponse response = postService.updatePost(postId, request, PostETag.parseVersion(ifMatch));
 //postService=글을 업데이트하는 데 필요한 로직이 담긴 서비스. 특정 id를 가진 글을 덥데이트하라는 요청을 보내고, 생성된 업데이트된 글에 대한 정보를 'response'에 받아온다.
-        return new ResponseEntity<>(response, HttpStatus.OK);
+        if (response.getVersion() == null) {    //If-Match 없이 수정하면 새 버전을 모르므로 ETag를 내려주지 않는다.
+            return new ResponseEntity<>(response, HttpStatus.OK);
+        }
+        return ResponseEntity.ok().eTag(PostETag.of(response.getVersion())).body(response);
     } //메서드: 업데이트된 글에 대한 정보를 클라이언트에 반환. 응답코드 설정 후 요청이 성공처리된것을 알림.
     //요약: 특정 글을 업데이트하는 요청을 받고, 해당 글을 업데이트 후 정보를 클라이언트에 반환하는 역할.
 
@@ -114,4 +166,110 @@ public class PostController {   //게시물과 관련된 http 요청을 처리
 
     }
 
+    @GetMapping("/slice")
+    @Operation(summary = "🔍🔍🔍게시글 페이지 조회 (전체 개수 없이)👀👀👀", description = "전체 게시글 수(totalElements) 대신 다음 페이지 여부(hasNext)만 알려주는 목록 조회")
+
+    //무한 스크롤처럼 전체 개수가 필요 없는 화면용. count 를 계산하지 않는다.
+    public ResponseEntity<Slice<ReadPostResponse>> postReadSlice(
+            @PageableDefault(size = 5, sort = "postId", direction = Sort.Direction.DESC) Pageable pageable) {
+        Slice<ReadPostResponse> responses = postService.readPostSlice(pageable);
+        return new ResponseEntity<>(responses, HttpStatus.OK);
+    }
+
+    @GetMapping("/summaries")
+    @Operation(summary = "🔍🔍🔍게시글 요약 페이지 조회👀👀👀", description = "페이지별 제목(title)과 내용 미리보기(previewLength 글자) 조회하기")
+
+    //목록 화면용 요약 조회. content 전체 대신 필요한 컬럼만 DB에서 읽어온다.
+    public ResponseEntity<Page<PostSummaryResponse>> postReadAllSummaries(
+            @PageableDefault(size = 5, sort = "postId", direction = Sort.Direction.DESC) Pageable pageable,
+            @RequestParam(defaultValue = "0") int previewLength) {
+        Page<PostSummaryResponse> responses = postService.readAllPostSummaries(pageable, previewLength);
+        return new ResponseEntity<>(responses, HttpStatus.OK);
+    }
+
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "📦📦📦게시글 전체 내보내기📦📦📦", description = "모든 게시글을 한 줄에 하나씩 JSON(NDJSON)으로 내려받기 (gzip=true 이면 gzip 압축)")
+
+    //전체 게시글을 응답 스트림에 바로 쓴다. 응답은 별도 스레드에서 쓰여지고, 요청 스레드는 바로 반환된다.
+    public ResponseEntity<StreamingResponseBody> postExport(@RequestParam(defaultValue = "false") boolean gzip) {
+        StreamingResponseBody body = outputStream -> postExportService.exportTo(outputStream, gzip);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"posts.ndjson" + (gzip ? ".gz" : "") + "\"");
+        if (gzip) {
+            builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return builder.body(body);
+    }
+
+    @GetMapping("/search")
+    @Operation(summary = "🔍🔍🔍게시글 검색👀👀👀", description = "제목(title), 내용(content)에서 검색어(q)와 관련된 게시글을 관련도 순으로 조회하기")
+
+    //게시글 검색. DB를 조회하지 않고 메모리 색인에서 바로 찾는다.
+    public ResponseEntity<List<SearchPostResponse>> postSearch(@RequestParam String q, @RequestParam(defaultValue = "10") int size) {
+        List<SearchPostResponse> responses = postSearchService.search(q, size);
+        return new ResponseEntity<>(responses, HttpStatus.OK);
+    }
+
+    @GetMapping("/cursor")
+    @Operation(summary = "🔍🔍🔍게시글 커서 조회👀👀👀", description = "cursor 이후의 게시글을 최신순으로 조회하기 (응답의 nextCursor/prevCursor로 이동)")
+
+    //커서 기반 목록 조회. OFFSET을 쓰지 않기 때문에 뒤쪽 페이지도 첫 페이지와 같은 속도로 조회된다.
+    public ResponseEntity<CursorPageResponse<ReadPostResponse>> postReadByCursor(
+            @RequestParam(required = false) String cursor, @RequestParam(defaultValue = "5") int size) {
+        CursorPageResponse<ReadPostResponse> responses = postService.readPostsByCursor(cursor, size);
+        return new ResponseEntity<>(responses, HttpStatus.OK);
+    }
+
+
+    //직렬화된 응답을 그대로 쓴다. 클라이언트가 gzip 을 받을 수 있고 압축본이 있으면 압축본을 쓴다.
+    private void writeCached(Long postId, PostResponseCache.Entry entry, long viewCount,
+                             HttpServletRequest request, HttpServletResponse response) throws IOException {
+        byte[] gzipped = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING)) ? postResponseCache.gzip(postId, entry) : null;
+        boolean gzip = gzipped != null;
+        byte[] body = gzip ? gzipped : entry.json();
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(body.length);
+        response.setHeader(HttpHeaders.ETAG, PostETag.of(entry.version()));
+        response.setHeader(VIEW_COUNT_HEADER, Long.toString(viewCount));
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        response.getOutputStream().write(body);
+    }
+
+    /** Accept-Encoding 으로 gzip 을 받겠다고 했는지. q 값이 0 이면 받지 않겠다는 뜻이다. (예: "gzip;q=0")
+     * gzip 이 없으면 "*" 의 q 값을 따른다.
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzip = null;
+        Double any = null;
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            String name = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim();
+                if (parameter.regionMatches(true, 0, "q=", 0, 2)) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0;
+                    }
+                }
+            }
+            if (name.equals("gzip") || name.equals("x-gzip")) {
+                gzip = quality;
+            } else if (name.equals("*")) {
+                any = quality;
+            }
+        }
+        return gzip != null ? gzip > 0 : any != null && any > 0;
+    }
 }
@@ -0,0 +1,38 @@
+package org.example.ohgiraffers.board.controller;
+
+import jakarta.persistence.OptimisticLockException;
+
+/** PostETag
+ * 게시글 버전(@Version)을 ETag 헤더 값으로 바꾸고, If-Match 헤더에서 다시 버전을 꺼낸다.
+ * 같은 버전이면 응답 본문도 같으므로 strong ETag("3")를 사용한다.
+ * If-Match 는 strong 비교만 허용하므로(RFC 9110) weak ETag(W/"3")는 버전이 같아도 일치하지 않는 것으로 보고 412로 응답한다.
+ * 조회수는 버전과 상관없이 바뀌기 때문에 본문에 넣지 않고 X-View-Count 헤더로 따로 내려준다. (304 응답에도 현재 값을 넣는다)
+ */
+final class PostETag {
+
+    private PostETag() {
+    }
+
+    static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    //If-Match 값의 버전. 헤더가 없거나 "*" 이면 null(조건 없음), weak ETag 이면 OptimisticLockException(412), 버전 형식이 아니면 IllegalArgumentException(400)
+    static Long parseVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String value = ifMatch.trim();
+        if (value.startsWith("W/")) {
+            throw new OptimisticLockException("If-Match 에는 weak ETag를 사용할 수 없습니다: " + ifMatch);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("If-Match 헤더는 하나의 게시글 ETag여야 합니다: " + ifMatch);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package org.example.ohgiraffers.board.controller;
+
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.admission.AdmissionControlFilter;
+import org.example.ohgiraffers.board.feed.PostFeedService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/** PostFeedController
+ * 게시글 변경 피드(Server-Sent Events). 목록을 주기적으로 다시 조회하는 대신 구독해 두고, 변경이 오면 필요한 것만 다시 읽는다.
+ * - post   : {"sequence", "postId", "changeType": CREATED | UPDATED | DELETED}
+ * - resync : 놓친 변경이 있어서 이어서 보낼 수 없음. 목록을 한 번 다시 조회한다.
+ * 연결이 끊기면 EventSource 가 Last-Event-ID 헤더로 다시 연결하고, 그 다음 변경부터 이어서 받는다.
+ * 이벤트 id 는 "<bootId>-<sequence>" 형식이라, 다른 인스턴스나 재시작 전에 받은 id 로 연결하면 resync 를 먼저 받는다.
+ */
+@Tag(name = "posts", description = "게시글 API")
+@RestController
+@RequestMapping("/api/v1/posts")
+@RequiredArgsConstructor
+public class PostFeedController {
+
+    private final PostFeedService postFeedService;
+
+    @GetMapping(value = "/feed", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "📡📡📡게시글 변경 구독📡📡📡", description = "게시글 작성/수정/삭제를 SSE(text/event-stream)로 받기")
+    public SseEmitter postFeed(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                               HttpServletRequest request) {
+        request.setAttribute(AdmissionControlFilter.LONG_LIVED_ATTRIBUTE, true);  //계속 열려 있는 연결이 동시 처리 상한을 차지하지 않도록
+        return postFeedService.subscribe(lastEventId);
+    }
+}
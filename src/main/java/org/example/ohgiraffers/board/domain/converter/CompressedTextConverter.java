@@ -0,0 +1,22 @@
+package org.example.ohgiraffers.board.domain.converter;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/** CompressedTextConverter
+ * 엔티티에서는 String, DB에는 압축된 바이트(PostContentCodec 형식)로 저장한다.
+ * JPQL 의 파라미터(update ... set p.content = :content)와 select 결과에도 자동으로 적용된다.
+ */
+@Converter
+public class CompressedTextConverter implements AttributeConverter<String, byte[]> {
+
+    @Override
+    public byte[] convertToDatabaseColumn(String attribute) {
+        return attribute == null ? null : PostContentCodec.encode(attribute);
+    }
+
+    @Override
+    public String convertToEntityAttribute(byte[] dbData) {
+        return dbData == null ? null : PostContentCodec.decode(dbData);
+    }
+}
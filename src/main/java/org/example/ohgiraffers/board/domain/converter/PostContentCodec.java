@@ -0,0 +1,126 @@
+package org.example.ohgiraffers.board.domain.converter;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/** PostContentCodec
+ * 게시글 content 를 DB에 저장할 바이트로 바꾸고 되돌린다. (CompressedTextConverter, reactive 모듈에서 함께 사용)
+ *
+ * 저장 형식: [MAGIC 2바이트][형식 1바이트][본문]
+ * - RAW(0): 본문 = UTF-8 바이트. THRESHOLD 보다 짧거나, 압축해도 줄어들지 않는 글
+ * - DEFLATE(1): 본문 = 원래 UTF-8 길이(4바이트) + Deflate(BEST_SPEED) 로 압축한 바이트
+ * MAGIC 으로 시작하지 않는 값은 압축 도입 전에 저장된 UTF-8 텍스트로 보고 그대로 읽는다.
+ *
+ * 압축 수준은 BEST_SPEED 를 사용한다. 긴 글(텍스트)은 이것만으로도 크기가 크게 줄고, 조회/저장마다 실행되므로 속도가 더 중요하다.
+ *
+ * 압축된 content 는 DB에서 앞부분만 자를 수 없으므로, 저장할 때 앞 PREVIEW_LENGTH 글자(preview 컬럼)를 따로 함께 쓴다.
+ */
+public final class PostContentCodec {
+
+    public static final int THRESHOLD = 256;    //이 길이(UTF-8 바이트) 이상일 때만 압축을 시도한다.
+
+    public static final int PREVIEW_LENGTH = 200;   //preview 컬럼의 길이(글자)
+
+    private static final byte MAGIC_0 = (byte) 0xB0;
+    private static final byte MAGIC_1 = (byte) 0xA7;
+    private static final byte RAW = 0;
+    private static final byte DEFLATE = 1;
+    private static final int HEADER_LENGTH = 3;
+
+    private PostContentCodec() {
+    }
+
+    public static byte[] encode(String content) {
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length >= THRESHOLD) {
+            byte[] compressed = deflate(utf8);
+            if (compressed.length + 4 < utf8.length) {
+                byte[] encoded = new byte[HEADER_LENGTH + 4 + compressed.length];
+                writeHeader(encoded, DEFLATE);
+                encoded[3] = (byte) (utf8.length >>> 24);
+                encoded[4] = (byte) (utf8.length >>> 16);
+                encoded[5] = (byte) (utf8.length >>> 8);
+                encoded[6] = (byte) utf8.length;
+                System.arraycopy(compressed, 0, encoded, HEADER_LENGTH + 4, compressed.length);
+                return encoded;
+            }
+        }
+        byte[] encoded = new byte[HEADER_LENGTH + utf8.length];
+        writeHeader(encoded, RAW);
+        System.arraycopy(utf8, 0, encoded, HEADER_LENGTH, utf8.length);
+        return encoded;
+    }
+
+    //preview 컬럼에 저장할 content 앞 PREVIEW_LENGTH 글자. 이모지 등 surrogate pair 를 반으로 자르지 않는다.
+    public static String preview(String content) {
+        if (content == null || content.length() <= PREVIEW_LENGTH) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return content.substring(0, end);
+    }
+
+    public static String decode(byte[] stored) {
+        if (stored.length < HEADER_LENGTH || stored[0] != MAGIC_0 || stored[1] != MAGIC_1) {
+            return new String(stored, StandardCharsets.UTF_8);      //압축 도입 전의 값
+        }
+        if (stored[2] == RAW) {
+            return new String(stored, HEADER_LENGTH, stored.length - HEADER_LENGTH, StandardCharsets.UTF_8);
+        }
+        if (stored[2] == DEFLATE && stored.length >= HEADER_LENGTH + 4) {
+            int length = ((stored[3] & 0xFF) << 24) | ((stored[4] & 0xFF) << 16) | ((stored[5] & 0xFF) << 8) | (stored[6] & 0xFF);
+            return new String(inflate(stored, HEADER_LENGTH + 4, length), StandardCharsets.UTF_8);
+        }
+        throw new IllegalStateException("알 수 없는 content 저장 형식입니다: " + stored[2]);
+    }
+
+    private static void writeHeader(byte[] encoded, byte format) {
+        encoded[0] = MAGIC_0;
+        encoded[1] = MAGIC_1;
+        encoded[2] = format;
+    }
+
+    private static byte[] deflate(byte[] input) {
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED, true);
+        try {
+            deflater.setInput(input);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(input.length / 2);
+            byte[] buffer = new byte[Math.min(input.length, 8192)];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] inflate(byte[] stored, int offset, int length) {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored, offset, stored.length - offset);
+            byte[] output = new byte[length];
+            int read = 0;
+            while (read < length) {
+                int n = inflater.inflate(output, read, length - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read != length) {
+                throw new IllegalStateException("압축된 content 가 손상되었습니다. (" + read + "/" + length + " 바이트)");
+            }
+            return output;
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("압축된 content 가 손상되었습니다.", e);
+        } finally {
+            inflater.end();
+        }
+    }
+}
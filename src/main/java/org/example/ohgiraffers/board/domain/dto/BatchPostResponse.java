@@ -0,0 +1,19 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//일괄 처리 응답. 요청 순서대로 항목별 결과를 담는다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchPostResponse {
+
+    private int succeeded;
+    private int failed;
+    private List<BatchPostResult> results;
+}
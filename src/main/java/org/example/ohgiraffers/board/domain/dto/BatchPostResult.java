@@ -0,0 +1,20 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+//일괄 처리 요청에서 index 번째 항목의 처리 결과
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchPostResult {
+
+    private int index;          //요청 목록에서의 순서 (0부터)
+    private Long postId;
+    private BatchPostStatus status;
+    private String message;     //실패했을 때의 사유
+}
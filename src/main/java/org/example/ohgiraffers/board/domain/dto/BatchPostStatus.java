@@ -0,0 +1,11 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+//일괄 처리에서 각 항목의 처리 결과
+public enum BatchPostStatus {
+
+    CREATED,
+    UPDATED,
+    DELETED,
+    NOT_FOUND,  //해당 postId의 게시글이 없음
+    FAILED      //항목이 속한 묶음(chunk)의 트랜잭션이 실패해서 롤백됨
+}
@@ -0,0 +1,17 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+//일괄 수정 요청의 한 항목. 어떤 게시글(postId)을 어떤 제목/내용으로 바꿀지 담는다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class BatchUpdatePostRequest {
+
+    private Long postId;
+    private String title;
+    private String content;
+}
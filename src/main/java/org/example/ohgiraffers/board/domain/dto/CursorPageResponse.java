@@ -0,0 +1,23 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/** CursorPageResponse
+ * 커서 기반 목록 조회 응답.
+ * nextCursor(더 오래된 글), prevCursor(더 최근 글)를 그대로 다음 요청의 cursor 파라미터로 넘기면 된다.
+ * 전체 개수(COUNT)를 구하지 않기 때문에 totalElements, totalPages는 없다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageResponse<T> {
+
+    private List<T> content;
+    private int size;
+    private String nextCursor;  //다음 페이지가 없으면 null
+    private String prevCursor;  //이전 페이지가 없으면 null
+}
@@ -0,0 +1,16 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+//가져오기(import) 중 line 번째 줄을 처리하지 못한 사유
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportPostError {
+
+    private long line;          //요청 본문에서의 줄 번호 (1부터)
+    private String message;
+}
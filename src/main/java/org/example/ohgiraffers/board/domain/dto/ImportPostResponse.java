@@ -0,0 +1,19 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+//가져오기(import) 응답. 오류는 앞에서부터 최대 board.import.max-errors 개까지만 담는다. (failed는 전체 개수)
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class ImportPostResponse {
+
+    private long imported;
+    private long failed;
+    private List<ImportPostError> errors;
+}
@@ -0,0 +1,26 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** PostSummaryResponse
+ * 목록 화면용 게시글 요약. PostRepository의 생성자 프로젝션(select new ...)으로 바로 만들어진다.
+ * 엔티티를 거치지 않기 때문에 content 전체를 DB에서 읽지 않고, 영속성 컨텍스트에도 올라가지 않는다.
+ * preview를 요청하지 않았다면 JSON에서 preview 필드가 빠진다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PostSummaryResponse {
+
+    private Long postId;
+    private String title;
+    private String preview;     //content 앞부분
+
+    public PostSummaryResponse(Long postId, String title) {
+        this(postId, title, null);
+    }
+}
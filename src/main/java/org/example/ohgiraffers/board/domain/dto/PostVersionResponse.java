@@ -0,0 +1,17 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/** PostVersionResponse
+ * If-None-Match 확인용. content 없이 버전(ETag)과 조회수(X-View-Count 헤더)만 담는다.
+ */
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostVersionResponse {
+
+    private Long version;
+    private long viewCount;
+}
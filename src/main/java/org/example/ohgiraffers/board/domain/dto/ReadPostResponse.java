@@ -1,5 +1,6 @@
 package org.example.ohgiraffers.board.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -12,4 +13,14 @@ public class ReadPostResponse {
     private Long postId;
     private String title;
     private String content;
+
+    @JsonIgnore
+    private Long version;   //본문에는 넣지 않고 ETag 헤더로 내려준다.
+
+    @JsonIgnore
+    private long viewCount; //DB에 반영된 조회수 + 아직 반영되지 않은 이 인스턴스의 조회수. 버전이 같아도 바뀌므로 본문이 아니라 X-View-Count 헤더로 내려준다.
+
+    public ReadPostResponse(Long postId, String title, String content) {
+        this(postId, title, content, null, 0);
+    }
 }
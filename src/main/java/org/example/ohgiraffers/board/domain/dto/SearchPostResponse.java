@@ -0,0 +1,16 @@
+package org.example.ohgiraffers.board.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+//게시글 검색 결과 한 건. score가 높을수록 검색어와 관련이 높다.
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor
+public class SearchPostResponse {
+
+    private Long postId;
+    private String title;
+    private double score;
+}
@@ -1,6 +1,7 @@
 package org.example.ohgiraffers.board.domain.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -14,4 +15,11 @@ public class UpdatePostResponse {
     private Long postId;
     private String title;
     private String content;
+
+    @JsonIgnore
+    private Long version;   //본문에는 넣지 않고 ETag 헤더로 내려준다.
+
+    public UpdatePostResponse(Long postId, String title, String content) {
+        this(postId, title, content, null);
+    }
 }
@@ -1,10 +1,24 @@
 package org.example.ohgiraffers.board.domain.entity;
 
 
+import jakarta.persistence.Basic;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.*;
+import org.example.ohgiraffers.board.domain.converter.CompressedTextConverter;
+import org.example.ohgiraffers.board.domain.converter.PostContentCodec;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.annotations.Where;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 /** Entity (여기 코드에서는 게시물을 나타내는 객체인 Post 클래스를 의미. Post클래스는 데이터베이스의 게시물 테이블과 매핑되어 있고, 각 인스턴스는 데이터베이스의 한 행에 해당하는 게시물 정보를 담고 있다.
  * 실제 세계의 객체나 개념을 소프트웨어 내에서 모델링 한 것으로, 데이터 베이스의 테이블에 해당하는 클래스
@@ -21,6 +35,11 @@ import lombok.*;
  */
 //Entity : JPA Entity라는 것을 의미한다. Id와 @GeneratedValue를 이용해 고유 식별자를 정의한다.
 @Entity
+//삭제 표시된 게시글을 PostPurger 가 post_id 순으로 찾아서 지운다.
+@Table(indexes = @Index(name = "idx_post_deleted", columnList = "deleted, post_id"))
+//JpaRepository 가 만들어주는 findById/findAll/count/existsById 도 삭제 표시된 게시글을 읽지 않도록 모든 엔티티 조회에 조건을 붙인다.
+//(Hibernate 6.2 라서 @SQLRestriction 대신 @Where. 삭제 표시된 행을 다루는 PostPurger 의 쿼리는 native SQL)
+@Where(clause = "deleted = false")
 //@Builder : 빌더 디자인 패턴을 자동으로 생성해준다.
 @Builder
 //@Getter : 클래스의 모든 필드에 대한 getter 메서드를 자동으로 생성해준다.
@@ -36,18 +55,81 @@ public class Post {
 
     //@Id & @GeneratedValue 데이터베이스의 테이블에서 기본키를 정의할 떄 사용
     @Id //해당 필드가 엔티티의 기본 키를 나타냄. 데이터베이스 테이블에서 각 행을 식별하는데 사용.
-    @GeneratedValue //기본 키의 값을 자동으로 생성하기 위해 사용. 데이터베이스가 자동으로 증가하는 값을 생성하도록 설정. (숫자 형태)
-
+    @GeneratedValue(generator = "post_id_generator") //기본 키의 값을 자동으로 생성하기 위해 사용. 아래의 post_id_generator가 값을 만든다. (숫자 형태)
+    /** post_id_generator
+     * MySQL에는 시퀀스가 없어서 post_seq 테이블(next_val 한 행)로 시퀀스를 흉내낸다.
+     * 한 번 조회할 때 increment_size(100)개의 id 블록을 예약하고(pooled-lo), 블록을 다 쓸 때까지는 DB에 묻지 않고 메모리에서 id를 꺼낸다.
+     * -> insert 마다 id를 얻기 위한 select/update가 없고, insert를 JDBC batch로 묶을 수 있다. (IDENTITY는 batch 불가)
+     * -> post_seq 행 잠금은 블록을 받을 때만 잠깐 잡히므로 동시에 쓰는 요청들이 서로 기다리지 않는다.
+     * 주의: id가 만든 순서대로 증가한다는 보장은 인스턴스(JVM) 하나로 실행할 때만 성립한다.
+     * 여러 인스턴스가 동시에 쓰면 인스턴스마다 다른 블록에서 id를 꺼내므로(예: A는 101~200, B는 201~300),
+     * 나중에 만든 게시글이 더 작은 id를 받을 수 있다. 그래서 id 순 정렬(최신순 목록, 커서 페이지네이션)은
+     * - 최신순이 블록 크기(100) 단위로 섞이고,
+     * - 커서(postId < cursor)로 넘기는 도중 커서보다 작은 id로 새로 들어온 게시글은 그 스크롤에서 보이지 않는다.
+     * 여러 인스턴스에서 만든 순서를 엄격히 지켜야 하면 increment_size 를 1로 낮춰(매번 post_seq 에서 발급) 순서를 DB 한 곳에서 정하도록 해야 한다.
+     * 기존 post_seq 값을 다음 블록의 시작으로 사용하기 때문에 이전 방식(pooled)으로 발급된 id와 겹치지 않는다.
+     */
+    @GenericGenerator(name = "post_id_generator", type = SequenceStyleGenerator.class, parameters = {
+            @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "post_seq"),
+            @Parameter(name = SequenceStyleGenerator.INCREMENT_PARAM, value = "100"),
+            @Parameter(name = SequenceStyleGenerator.OPT_PARAM, value = "pooled-lo")
+    })
+    @Column(name = "post_id")
 
     private Long postId;    //postId는 엔티티의 기본키 및 고유한 식별자, 데이터베이스에서 이 값은 자동으로 생성+증가
 
     private String title;
+
+    /** content
+     * 긴 글이 대부분이라 압축해서 저장한다. (CompressedTextConverter, 256바이트 이상일 때)
+     * 지연 로딩(LAZY): 엔티티를 조회해도 content 는 getContent() 를 처음 호출할 때 따로 읽는다. (빌드 시 Hibernate 바이트코드 향상 필요)
+     * -> 일괄 수정/삭제처럼 엔티티만 필요한 곳에서는 content 를 읽지 않는다.
+     * content 가 필요한 조회는 엔티티 대신 PostRepository의 생성자 프로젝션(ReadPostResponse)으로 한 번에 읽는다. (게시글마다 추가 select 방지)
+     */
+    @Basic(fetch = FetchType.LAZY)
+    @Convert(converter = CompressedTextConverter.class)
+    @Column(columnDefinition = "longblob")
     private String content;
 
+    /** preview
+     * content 앞부분(PostContentCodec.PREVIEW_LENGTH 글자). 요약 목록은 압축된 content 를 읽어서 풀지 않고 이 컬럼만 읽는다.
+     * content 를 쓸 때 같이 쓴다. (저장 시 @PrePersist, 수정 시 update(), 직접 update 쿼리는 PostRepository 에서 인자로 받는다)
+     */
+    @Column(name = "preview", length = PostContentCodec.PREVIEW_LENGTH)
+    private String preview;
+
+    /** @Version
+     * 수정될 때마다 Hibernate가 1씩 올리는 버전. update 문에 "where version = ?" 조건이 붙어서,
+     * 다른 요청이 먼저 수정한 게시글을 덮어쓰려고 하면 예외(OptimisticLock)가 발생한다.
+     * 응답의 ETag 값으로도 사용한다.
+     */
+    @Version
+    private Long version;
+
+    /** 조회수
+     * PostViewCounter 가 모아둔 증가분을 update 문으로 직접 더한다.
+     * updatable = false: 게시글 수정(Dirty Checking)이 읽어둔 옛 조회수로 덮어쓰지 않도록 엔티티 update 에서는 제외한다.
+     */
+    @Column(name = "view_count", nullable = false, updatable = false)
+    private long viewCount;
+
+    /** 삭제 표시(tombstone)
+     * 게시글 삭제는 행을 지우지 않고 이 값만 true 로 바꾼다. (요청 안에서는 update 한 번, 인덱스 정리와 행 삭제는 요청 밖에서)
+     * PostRepository 의 모든 조회는 deleted = false 인 게시글만 읽고(@Where), 실제 삭제는 PostPurger 가 조금씩 나눠서 한다.
+     */
+    @Column(name = "deleted", nullable = false)
+    private boolean deleted;
+
     //메서드: 게시물의 제목+내용을 업데이트하는 기능을 담당. 호출 시 게시물의 제목+내용을 새로운 값으로 업데이트 할 수 있음.
     public void update(String title, String content) {
         this.title = title;
         this.content = content;
+        this.preview = PostContentCodec.preview(content);
+    }
+
+    @PrePersist
+    void fillPreview() {
+        this.preview = PostContentCodec.preview(content);
     }
 
 }
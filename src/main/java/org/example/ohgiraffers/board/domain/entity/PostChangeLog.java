@@ -0,0 +1,40 @@
+package org.example.ohgiraffers.board.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+
+import java.time.LocalDateTime;
+
+/** PostChangeLog
+ * 게시글 변경 내역을 남기는 테이블.
+ * 여러 컨테이너가 같은 DB를 바라보기 때문에, 한 인스턴스에서 일어난 변경을 다른 인스턴스가 이 테이블을 폴링해서 알아낸다.
+ * 게시글 변경과 같은 트랜잭션에서 저장되므로, 커밋된 변경만 다른 인스턴스에 전달된다.
+ */
+@Entity
+@Table(name = "post_change_log",
+        indexes = @Index(name = "idx_post_change_log_changed_at", columnList = "changed_at"))
+@Builder
+@Getter
+@AllArgsConstructor
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class PostChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    private Long postId;
+
+    @Enumerated(EnumType.STRING)
+    private PostChangeType changeType;
+
+    private String origin;  //변경을 일으킨 인스턴스의 id, 자기 자신이 남긴 로그는 폴링에서 건너뛴다.
+
+    @Column(name = "changed_at")
+    private LocalDateTime changedAt;
+}
@@ -0,0 +1,9 @@
+package org.example.ohgiraffers.board.domain.event;
+
+//게시글 변경 종류. 변경 로그 테이블과 이벤트에서 함께 사용한다.
+public enum PostChangeType {
+
+    CREATED,
+    UPDATED,
+    DELETED
+}
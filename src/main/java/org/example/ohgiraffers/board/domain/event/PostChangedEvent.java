@@ -0,0 +1,18 @@
+package org.example.ohgiraffers.board.domain.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/** PostChangedEvent
+ * 게시글이 생성/수정/삭제되었음을 알리는 이벤트.
+ * 현재 인스턴스에서 일어난 변경은 트랜잭션 커밋 이후에, 다른 인스턴스에서 일어난 변경은 변경 로그 폴링 시점에 발행된다.
+ * 캐시 무효화처럼 변경에 반응해야 하는 곳은 이 이벤트 하나만 구독하면 된다.
+ */
+@Getter
+@AllArgsConstructor
+public class PostChangedEvent {
+
+    private final Long postId;
+    private final PostChangeType changeType;
+    private final boolean remote;   //다른 인스턴스에서 일어난 변경이면 true
+}
@@ -0,0 +1,63 @@
+package org.example.ohgiraffers.board.feed;
+
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+
+/** PostFeedBuffer
+ * 최근 게시글 변경을 고정 크기 배열에 순서대로 보관하는 링 버퍼.
+ * 쓰는 쪽은 한 번에 하나(publish 는 synchronized)이고, 읽는 쪽(구독자)은 잠금 없이 각자의 커서(sequence)로 읽는다.
+ * 버퍼가 가득 차면 가장 오래된 변경을 덮어쓴다. 구독자가 capacity 개보다 뒤처지면 get()이 null 을 돌려주므로,
+ * 읽는 쪽에서 그 구독자를 다시 맞추거나(resync) 끊는다. 느린 구독자 때문에 메모리가 늘어나지 않는다.
+ */
+public class PostFeedBuffer {
+
+    private final PostFeedEvent[] slots;
+
+    private final int mask;
+
+    private volatile long lastSequence = -1;   //마지막으로 쓴 변경의 sequence (0부터). 이 값을 쓰는 것이 slot 을 공개하는 시점이다.
+
+    public PostFeedBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity는 1 이상이어야 합니다.");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;     //2의 거듭제곱으로 올려서 나머지 연산 대신 mask 를 쓴다.
+        }
+        this.slots = new PostFeedEvent[size];
+        this.mask = size - 1;
+    }
+
+    public synchronized PostFeedEvent publish(Long postId, PostChangeType changeType) {
+        long sequence = lastSequence + 1;
+        PostFeedEvent event = new PostFeedEvent(sequence, postId, changeType);
+        slots[(int) (sequence & mask)] = event;
+        lastSequence = sequence;
+        return event;
+    }
+
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+
+    /** sequence 번째 변경
+     * 아직 쓰지 않았거나, 이미 덮어써서 남아 있지 않으면 null
+     */
+    public PostFeedEvent get(long sequence) {
+        if (sequence < 0 || sequence > lastSequence) {
+            return null;
+        }
+        PostFeedEvent event = slots[(int) (sequence & mask)];
+        return event != null && event.getSequence() == sequence ? event : null;
+    }
+
+    //from 부터 끝까지 빠짐없이 읽을 수 있는지 (from 이 lastSequence + 1 이면 읽을 것이 없는 것이므로 true)
+    public boolean isAvailableFrom(long from) {
+        long last = lastSequence;
+        return from == last + 1 || (from >= 0 && from <= last && last - from < slots.length);
+    }
+}
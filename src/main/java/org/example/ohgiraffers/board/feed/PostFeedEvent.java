@@ -0,0 +1,15 @@
+package org.example.ohgiraffers.board.feed;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+
+//피드(SSE)로 내보내는 게시글 변경. sequence 는 SSE id("<bootId>-<sequence>")의 뒷부분으로 쓰여서, 다시 연결할 때 Last-Event-ID 로 돌아온다.
+@Getter
+@AllArgsConstructor
+public class PostFeedEvent {
+
+    private final long sequence;
+    private final Long postId;
+    private final PostChangeType changeType;
+}
@@ -0,0 +1,347 @@
+package org.example.ohgiraffers.board.feed;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** PostFeedService
+ * 게시글 생성/수정/삭제를 SSE 로 구독자에게 보낸다. 목록을 몇 초마다 다시 조회(폴링)하는 대신 사용한다.
+ * 커밋된 변경(PostChangedEvent, 다른 인스턴스의 변경은 변경 로그 폴링으로 들어온다)을 링 버퍼(PostFeedBuffer)에 쓰고,
+ * dispatch()가 주기적으로 구독자마다 커서 이후의 변경을 보낸다. 실제 전송은 전송 스레드(sender-threads 개)에서 하고,
+ * 한 구독자에게 보내는 중이면 그 구독자는 다음 주기로 넘긴다. (느린 구독자 하나가 다른 구독자를 막지 않도록)
+ *
+ * SseEmitter.send 는 응답 스트림에 쓰는 블로킹 호출이라, 받지 않는 클라이언트에게 보내는 전송 스레드는 쓰기가 끝날 때까지 묶인다.
+ * 한 번의 전송이 send-timeout 을 넘기면 그 구독자를 끊고(전송 스레드 인터럽트), 묶인 스레드 대신 전송 스레드를 하나 더 늘린다.
+ * 묶였던 스레드가 돌아오면 늘렸던 만큼 다시 줄이므로, 막히지 않은 전송 스레드는 항상 sender-threads 개가 유지된다.
+ * 단, 전송 스레드는 max-senders 개까지만 늘린다. 받지 않는 클라이언트가 한꺼번에 몰려도 스레드가 끝없이 늘지 않도록 하기 위해서이고,
+ * 그 이상 묶이면 묶인 스레드가 돌아올 때까지 다른 구독자의 전송이 밀린다.
+ *
+ * 구독자가 버퍼 크기보다 뒤처지면 놓친 변경을 보낼 수 없으므로,
+ * slow-consumer=resync 면 "resync" 이벤트를 보내고 최신 위치로 옮기고(클라이언트는 목록을 한 번 다시 조회), drop 이면 연결을 끊는다.
+ * 다시 연결할 때 Last-Event-ID 가 아직 버퍼에 있으면 그 다음 변경부터 이어서 보낸다.
+ *
+ * sequence 는 인스턴스마다 따로 세고 재시작하면 0부터 다시 시작하므로, 이벤트 id 는 "<bootId>-<sequence>" 로 보낸다.
+ * 다른 인스턴스(또는 재시작 전)의 id 로 다시 연결하면 같은 sequence 라도 다른 변경이므로 이어서 보내지 않고 resync 를 보낸다.
+ */
+@Slf4j
+@Component
+public class PostFeedService {
+
+    public enum SlowConsumerPolicy { RESYNC, DROP }
+
+    private final PostFeedBuffer buffer;
+
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);   //이 인스턴스가 뜰 때마다 새로 정하는 이벤트 id 접두어
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final ThreadPoolExecutor senders;
+
+    private final int maxSubscribers;
+
+    private final long timeoutMillis;
+
+    private final long heartbeatNanos;
+
+    private final long sendTimeoutNanos;
+
+    private final SlowConsumerPolicy slowConsumerPolicy;
+
+    private final Map<SlowConsumerPolicy, Counter> slowConsumers = new ConcurrentHashMap<>();
+
+    private final Counter sendTimeouts;
+
+    private final AtomicInteger stalledSenders = new AtomicInteger();   //send-timeout 을 넘겨서 끊었지만 아직 돌아오지 않은 전송 수
+
+    private final int senderThreads;
+
+    private final int maxSenders;
+
+    public PostFeedService(MeterRegistry meterRegistry,
+                           @Value("${board.feed.buffer-size:4096}") int bufferSize,
+                           @Value("${board.feed.max-subscribers:10000}") int maxSubscribers,
+                           @Value("${board.feed.sender-threads:4}") int senderThreads,
+                           @Value("${board.feed.max-senders:16}") int maxSenders,
+                           @Value("${board.feed.timeout:30m}") Duration timeout,
+                           @Value("${board.feed.heartbeat:15s}") Duration heartbeat,
+                           @Value("${board.feed.send-timeout:5s}") Duration sendTimeout,
+                           @Value("${board.feed.slow-consumer:resync}") String slowConsumerPolicy) {
+        this.buffer = new PostFeedBuffer(bufferSize);
+        this.maxSubscribers = maxSubscribers;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatNanos = heartbeat.toNanos();
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        this.slowConsumerPolicy = SlowConsumerPolicy.valueOf(slowConsumerPolicy.toUpperCase());
+        this.senderThreads = senderThreads;
+        this.maxSenders = Math.max(senderThreads, maxSenders);
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("post-feed-"));
+
+        Gauge.builder("board.feed.subscribers", subscribers, Set::size).register(meterRegistry);
+        Gauge.builder("board.feed.stalled-senders", stalledSenders, AtomicInteger::get).register(meterRegistry);
+        this.sendTimeouts = Counter.builder("board.feed.slow-consumers")
+                .tag("action", "timeout")
+                .register(meterRegistry);
+        for (SlowConsumerPolicy policy : SlowConsumerPolicy.values()) {
+            slowConsumers.put(policy, Counter.builder("board.feed.slow-consumers")
+                    .tag("action", policy.name().toLowerCase())
+                    .register(meterRegistry));
+        }
+    }
+
+    /** 구독 시작
+     * lastEventId 가 이 인스턴스의 id 이고 그 다음 변경이 아직 버퍼에 있으면 거기서부터, 아니면 지금 이후의 변경부터 보낸다.
+     * (다른 인스턴스/재시작 전의 id 이거나, 다음 변경이 이미 버퍼에서 밀려났으면 resync 를 먼저 보낸다)
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        return subscribe(lastEventId, new SseEmitter(timeoutMillis));
+    }
+
+    //테스트에서 전송을 확인하기 위해 emitter 를 직접 넘길 수 있다.
+    SseEmitter subscribe(String lastEventId, SseEmitter emitter) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "피드 구독자 수가 최대치(" + maxSubscribers + ")에 도달했습니다.");
+        }
+        long head = buffer.lastSequence();
+        Subscriber subscriber = new Subscriber(emitter, head + 1);
+
+        if (lastEventId != null && !lastEventId.isBlank()) {
+            Long resumeFrom = parseLastEventId(lastEventId);
+            if (resumeFrom != null && buffer.isAvailableFrom(resumeFrom + 1)) {
+                subscriber.cursor = resumeFrom + 1;
+            } else {
+                subscriber.resyncPending = true;    //놓친 변경이 이미 버퍼에서 밀려났거나 다른 인스턴스/알 수 없는 id
+            }
+        }
+
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(error -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        return emitter;
+    }
+
+    //커밋된 변경만 보낸다. 폴링으로 들어온 다른 인스턴스의 변경(트랜잭션 없음)은 바로 처리된다.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        buffer.publish(event.getPostId(), event.getChangeType());
+    }
+
+    @Scheduled(fixedDelayString = "${board.feed.dispatch-interval:100}")
+    public void dispatch() {
+        long head = buffer.lastSequence();
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long sendStarted = subscriber.sendStartedNanos;
+            if (sendStarted != 0 && now - sendStarted >= sendTimeoutNanos) {
+                abandon(subscriber);
+                continue;
+            }
+            boolean pending = subscriber.cursor <= head || subscriber.resyncPending;
+            boolean heartbeatDue = now - subscriber.lastSentNanos >= heartbeatNanos;
+            if ((pending || heartbeatDue) && subscriber.sending.compareAndSet(false, true)) {
+                try {
+                    senders.execute(() -> send(subscriber, head));
+                } catch (RejectedExecutionException e) {    //종료 중
+                    subscriber.sending.set(false);
+                    return;
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    //테스트에서 전송 스레드가 max-senders 를 넘지 않는지 확인한다.
+    int senderPoolSize() {
+        return senders.getMaximumPoolSize();
+    }
+
+    //한 구독자에게 커서부터 head 까지의 변경을 보낸다. 전송 스레드에서 구독자 하나당 한 번에 하나만 실행된다.
+    private void send(Subscriber subscriber, long head) {
+        synchronized (subscriber) {
+            subscriber.sender = Thread.currentThread();
+            subscriber.sendStartedNanos = System.nanoTime();
+        }
+        try {
+            boolean lapped = subscriber.resyncPending || !buffer.isAvailableFrom(subscriber.cursor);
+            for (long sequence = subscriber.cursor; !lapped && !subscriber.abandoned && sequence <= head; sequence++) {
+                PostFeedEvent event = buffer.get(sequence);
+                if (event == null) {    //보내는 도중 덮어써졌다.
+                    lapped = true;
+                    break;
+                }
+                subscriber.emitter.send(SseEmitter.event()
+                        .id(eventId(sequence))
+                        .name("post")
+                        .data(event, MediaType.APPLICATION_JSON));
+                subscriber.cursor = sequence + 1;
+                subscriber.lastSentNanos = System.nanoTime();
+            }
+            if (subscriber.abandoned) {
+                return;     //send-timeout 을 넘겨서 이미 끊었다.
+            }
+            if (lapped) {
+                handleSlowConsumer(subscriber);
+            } else if (System.nanoTime() - subscriber.lastSentNanos >= heartbeatNanos) {
+                subscriber.emitter.send(SseEmitter.event().comment("heartbeat"));   //끊긴 연결을 알아내고, 프록시가 유휴 연결을 닫지 않도록
+                subscriber.lastSentNanos = System.nanoTime();
+            }
+        } catch (IOException | IllegalStateException e) {     //클라이언트가 연결을 끊었거나 이미 끝난 emitter (정리는 서블릿 컨테이너가 한다)
+            subscribers.remove(subscriber);
+        } finally {
+            finishSend(subscriber);
+        }
+    }
+
+    private void finishSend(Subscriber subscriber) {
+        boolean abandoned;
+        synchronized (subscriber) {
+            subscriber.sender = null;
+            subscriber.sendStartedNanos = 0;
+            abandoned = subscriber.abandoned;
+        }
+        if (abandoned) {    //묶였던 스레드가 돌아왔으므로 늘렸던 전송 스레드를 다시 줄이고 연결을 닫는다.
+            stalledSenders.decrementAndGet();
+            resizeSenders();
+            subscriber.emitter.complete();
+        }
+        subscriber.sending.set(false);
+    }
+
+    /** send-timeout 을 넘긴 전송
+     * 구독자를 목록에서 빼고 전송 스레드를 인터럽트한다. 블로킹 쓰기가 인터럽트로 바로 풀리지 않을 수 있으므로(서블릿 컨테이너의 쓰기 타임아웃까지 묶임)
+     * 그동안 다른 구독자에게 보낼 전송 스레드를 하나 더 늘려둔다. (max-senders 까지) 클라이언트는 다시 연결하면 Last-Event-ID 로 이어서 받거나 resync 를 받는다.
+     */
+    private void abandon(Subscriber subscriber) {
+        synchronized (subscriber) {
+            if (subscriber.sender == null || subscriber.abandoned) {
+                return;     //그 사이 전송이 끝났다.
+            }
+            subscriber.abandoned = true;
+            subscribers.remove(subscriber);
+            sendTimeouts.increment();
+            stalledSenders.incrementAndGet();
+            resizeSenders();
+            subscriber.sender.interrupt();
+        }
+        log.debug("피드 전송이 {}ms 안에 끝나지 않아 구독자를 끊었습니다.", TimeUnit.NANOSECONDS.toMillis(sendTimeoutNanos));
+    }
+
+    /** 전송 스레드 수를 sender-threads + 묶인 전송 수로 맞춘다. (max-senders 를 넘지 않게)
+     * 늘렸다 줄였다를 더하고 빼는 대신 매번 목표 크기를 다시 계산하므로, 상한에 걸려 늘리지 못한 전송이 돌아와도 너무 많이 줄이지 않는다.
+     * 늘릴 때는 최대 크기부터, 줄일 때는 기본 크기부터 바꿔야 core <= max 가 유지된다.
+     */
+    private synchronized void resizeSenders() {
+        int size = Math.min(senderThreads + stalledSenders.get(), maxSenders);
+        if (size == senders.getMaximumPoolSize()) {
+            return;
+        }
+        if (size > senders.getMaximumPoolSize()) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+
+    private void handleSlowConsumer(Subscriber subscriber) throws IOException {
+        slowConsumers.get(slowConsumerPolicy).increment();
+        if (slowConsumerPolicy == SlowConsumerPolicy.DROP) {
+            subscribers.remove(subscriber);
+            subscriber.emitter.complete();
+            return;
+        }
+        long head = buffer.lastSequence();
+        subscriber.emitter.send(SseEmitter.event()
+                .id(eventId(head))
+                .name("resync")
+                .data(Map.of("lastEventId", eventId(head)), MediaType.APPLICATION_JSON));
+        subscriber.cursor = head + 1;
+        subscriber.resyncPending = false;
+        subscriber.lastSentNanos = System.nanoTime();
+    }
+
+    private String eventId(long sequence) {
+        return bootId + "-" + sequence;
+    }
+
+    //"<bootId>-<sequence>" 의 sequence. 이 인스턴스의 id 가 아니거나 형식이 맞지 않으면 null
+    private Long parseLastEventId(String lastEventId) {
+        String value = lastEventId.trim();
+        int separator = value.lastIndexOf('-');
+        if (separator < 0 || !value.substring(0, separator).equals(bootId)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        senders.shutdown();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+        subscribers.clear();
+        if (!senders.awaitTermination(5, TimeUnit.SECONDS)) {
+            log.warn("피드 전송 스레드가 5초 안에 끝나지 않았습니다.");
+            senders.shutdownNow();
+        }
+    }
+
+    private static final class Subscriber {
+
+        private final SseEmitter emitter;
+
+        private final AtomicBoolean sending = new AtomicBoolean();  //전송 스레드에서 처리 중인지
+
+        //아래 값들은 sending 을 잡은 전송 스레드만 바꾼다. (sending 의 CAS/set 이 스레드 간 가시성을 보장)
+        private volatile long cursor;   //다음에 보낼 sequence
+
+        private volatile boolean resyncPending;
+
+        private volatile long lastSentNanos = System.nanoTime();
+
+        //아래 값들은 전송 스레드와 dispatch(abandon) 가 함께 보므로 바꿀 때는 subscriber 로 동기화한다.
+        private volatile Thread sender;     //지금 이 구독자에게 보내고 있는 전송 스레드
+
+        private volatile long sendStartedNanos;     //전송을 시작한 시각. 보내는 중이 아니면 0
+
+        private volatile boolean abandoned;     //send-timeout 을 넘겨서 끊은 구독자
+
+        private Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.ohgiraffers.board.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+//Hibernate가 SQL을 실행하기 직전에 호출된다. SQL은 바꾸지 않고 종류별 실행 횟수만 센다.
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlStatementCounter.recordStatement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.ohgiraffers.board.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/** PostServiceTimingAspect
+ * PostService 메서드의 트랜잭션 시간(시작 ~ 커밋/롤백)을 board.post.transaction{method, outcome} 타이머로 기록한다.
+ * @Transactional 처리(TransactionInterceptor)보다 바깥에서 실행되도록 가장 높은 우선순위를 준다.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class PostServiceTimingAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * org.example.ohgiraffers.board.service.PostService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("board.post.transaction")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
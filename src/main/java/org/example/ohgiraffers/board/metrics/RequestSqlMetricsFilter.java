@@ -0,0 +1,54 @@
+package org.example.ohgiraffers.board.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/** RequestSqlMetricsFilter
+ * 요청 하나에서 실행된 SQL 문 수(종류별)와 로드된 엔티티 수를 분포(DistributionSummary)로 기록한다.
+ * 지표 이름: board.request.sql.statements{uri, type}, board.request.entities.loaded{uri}
+ * uri 태그는 "/api/v1/posts/{postID}" 처럼 매핑된 경로 패턴을 사용한다.
+ * 센 값은 요청 속성(SNAPSHOT_ATTRIBUTE)에도 남겨서, 테스트에서 요청별 SQL 수를 확인할 수 있게 한다.
+ */
+@RequiredArgsConstructor
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+
+    public static final String SNAPSHOT_ATTRIBUTE = RequestSqlMetricsFilter.class.getName() + ".SNAPSHOT";
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+
+        SqlStatementCounter.reset();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            SqlStatementCounter.Snapshot snapshot = SqlStatementCounter.snapshot();
+            request.setAttribute(SNAPSHOT_ATTRIBUTE, snapshot);
+            for (SqlStatementCounter.StatementType type : SqlStatementCounter.StatementType.values()) {
+                DistributionSummary.builder("board.request.sql.statements")
+                        .tag("uri", uri)
+                        .tag("type", type.name())
+                        .register(meterRegistry)
+                        .record(snapshot.count(type));
+            }
+            DistributionSummary.builder("board.request.entities.loaded")
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(snapshot.entityLoads());
+            SqlStatementCounter.reset();
+        }
+    }
+}
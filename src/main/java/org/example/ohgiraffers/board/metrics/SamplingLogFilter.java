@@ -0,0 +1,22 @@
+package org.example.ohgiraffers.board.metrics;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.filter.Filter;
+import ch.qos.logback.core.spi.FilterReply;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+//로그 중 일부(rate 비율)만 통과시키는 logback 필터. 느린 쿼리 로그가 한꺼번에 쏟아질 때 양을 줄인다. (logback-spring.xml)
+public class SamplingLogFilter extends Filter<ILoggingEvent> {
+
+    private double rate = 1.0;
+
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    @Override
+    public FilterReply decide(ILoggingEvent event) {
+        return ThreadLocalRandom.current().nextDouble() < rate ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.ohgiraffers.board.metrics;
+
+import java.util.Locale;
+
+/** SqlStatementCounter
+ * 현재 스레드에서 실행된 SQL 문 수(종류별)와 로드된 엔티티 수를 센다.
+ * Hibernate의 StatementInspector(CountingStatementInspector)와 PostLoad 이벤트 리스너가 값을 올리고,
+ * 요청 단위 지표(RequestSqlMetricsFilter)나 테스트에서 reset() -> 실행 -> snapshot() 순서로 읽는다.
+ */
+public final class SqlStatementCounter {
+
+    public enum StatementType { SELECT, INSERT, UPDATE, DELETE, OTHER }
+
+    private static final ThreadLocal<long[]> COUNTS = ThreadLocal.withInitial(() -> new long[StatementType.values().length + 1]);
+
+    private static final int ENTITY_LOADS = StatementType.values().length;
+
+    private SqlStatementCounter() {
+    }
+
+    public static void reset() {
+        COUNTS.remove();
+    }
+
+    static void recordStatement(String sql) {
+        COUNTS.get()[typeOf(sql).ordinal()]++;
+    }
+
+    static void recordEntityLoad() {
+        COUNTS.get()[ENTITY_LOADS]++;
+    }
+
+    public static Snapshot snapshot() {
+        return new Snapshot(COUNTS.get().clone());
+    }
+
+    private static StatementType typeOf(String sql) {
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return switch (trimmed.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> StatementType.SELECT;
+            case "insert" -> StatementType.INSERT;
+            case "update" -> StatementType.UPDATE;
+            case "delete" -> StatementType.DELETE;
+            default -> StatementType.OTHER;
+        };
+    }
+
+    //특정 시점의 카운트 값
+    public static final class Snapshot {
+
+        private final long[] counts;
+
+        private Snapshot(long[] counts) {
+            this.counts = counts;
+        }
+
+        public long count(StatementType type) {
+            return counts[type.ordinal()];
+        }
+
+        public long total() {
+            long total = 0;
+            for (StatementType type : StatementType.values()) {
+                total += counts[type.ordinal()];
+            }
+            return total;
+        }
+
+        public long entityLoads() {
+            return counts[ENTITY_LOADS];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder builder = new StringBuilder();
+            for (StatementType type : StatementType.values()) {
+                builder.append(type).append('=').append(count(type)).append(' ');
+            }
+            return builder.append("ENTITY_LOADS=").append(entityLoads()).toString();
+        }
+    }
+}
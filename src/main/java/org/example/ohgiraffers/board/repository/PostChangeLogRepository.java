@@ -0,0 +1,22 @@
+package org.example.ohgiraffers.board.repository;
+
+import org.example.ohgiraffers.board.domain.entity.PostChangeLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+//게시글 변경 로그를 다루는 Repository. 다른 인스턴스의 변경을 폴링하고, 오래된 로그를 정리한다.
+public interface PostChangeLogRepository extends JpaRepository<PostChangeLog, Long> {
+
+    //since 이후에 남겨진 변경 로그를 id 순서대로 가져온다.
+    List<PostChangeLog> findByChangedAtAfterOrderByIdAsc(LocalDateTime since);
+
+    //보관 기간이 지난 로그를 한 번의 DELETE 문으로 지운다. (파생 delete 메서드는 한 건씩 조회 후 삭제하기 때문에 사용하지 않음)
+    @Modifying
+    @Query("delete from PostChangeLog l where l.changedAt < :before")
+    int deleteOlderThan(@Param("before") LocalDateTime before);
+}
@@ -1,7 +1,23 @@
 package org.example.ohgiraffers.board.repository;
 
+import org.example.ohgiraffers.board.domain.dto.PostSummaryResponse;
+import org.example.ohgiraffers.board.domain.dto.PostVersionResponse;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
 import org.example.ohgiraffers.board.domain.entity.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 //Entity: 데이터베이스에서 정보를 저장하고 관리하기 위한 객체.
 
@@ -12,6 +28,97 @@ import org.springframework.data.jpa.repository.JpaRepository;
 //데이터베이스와 상호 작용할 때 사용, 데이터를 생성하는 메서드를 제공(CRUD)
 
 public interface PostRepository extends JpaRepository<Post, Long> {
+
+    /** content 가 필요한 조회용 생성자 프로젝션
+     * Post.content 는 지연 로딩이라, 엔티티 목록을 읽은 뒤 content 를 꺼내면 게시글마다 select 가 한 번 더 나간다.
+     * 응답 DTO(ReadPostResponse)를 select 절에서 바로 만들면 content 까지 쿼리 한 번으로 읽는다. (압축 해제는 Converter가 처리)
+     * 모든 조회는 삭제 표시(deleted)되지 않은 게시글만 읽는다. 조건을 붙일 때는 "and ..." 로 이어 쓴다.
+     */
+    String READ_POST_RESPONSE = "select new org.example.ohgiraffers.board.domain.dto.ReadPostResponse(p.postId, p.title, p.content, p.version, p.viewCount) from Post p where p.deleted = false";
+
+    @Query(READ_POST_RESPONSE + " and p.postId = :postId")
+    Optional<ReadPostResponse> findResponseById(@Param("postId") Long postId);
+
+    //페이지 목록 조회용. 반환 타입이 Slice라서 COUNT 쿼리 없이 size + 1개를 읽어 다음 페이지 여부만 판단한다.
+    //전체 개수가 필요하면 PostCountCache의 값을 사용한다.
+    @Query(READ_POST_RESPONSE)
+    Slice<ReadPostResponse> findResponses(Pageable pageable);
+
+    //커서(keyset) 페이지네이션용 조회. OFFSET 없이 PK 인덱스에서 바로 위치를 찾기 때문에 몇 번째 페이지든 속도가 같다.
+    //반환 타입이 List라서 COUNT 쿼리도 실행되지 않는다. (Pageable은 LIMIT 용도로만 사용)
+    //postId 순서가 만든 순서와 같은 것은 인스턴스 하나로 실행할 때뿐이다. 여러 인스턴스에서는 블록 단위로 섞인다. (Post.postId 의 id 생성기 설명 참고)
+    @Query(READ_POST_RESPONSE + " order by p.postId desc")
+    List<ReadPostResponse> findLatestResponses(Pageable limit);
+
+    @Query(READ_POST_RESPONSE + " and p.postId < :postId order by p.postId desc")
+    List<ReadPostResponse> findResponsesBefore(@Param("postId") Long postId, Pageable limit);
+
+    @Query(READ_POST_RESPONSE + " and p.postId > :postId order by p.postId asc")
+    List<ReadPostResponse> findResponsesAfter(@Param("postId") Long postId, Pageable limit);
+
+    //목록 화면용 프로젝션. 필요한 컬럼만 select 하고 엔티티 대신 DTO를 바로 만든다.
+    @Query("select new org.example.ohgiraffers.board.domain.dto.PostSummaryResponse(p.postId, p.title) from Post p where p.deleted = false")
+    Slice<PostSummaryResponse> findAllSummaries(Pageable pageable);
+
+    //미리보기용. 압축된 content 대신 저장할 때 만들어 둔 preview(앞 200글자)만 읽는다. 요청한 길이로는 서비스에서 자른다.
+    @Query("select new org.example.ohgiraffers.board.domain.dto.PostSummaryResponse(p.postId, p.title, p.preview) from Post p where p.deleted = false")
+    Slice<PostSummaryResponse> findAllSummariesWithPreview(Pageable pageable);
+
+    //전체 게시글 수 (PostCountCache)
+    @Query("select count(p) from Post p where p.deleted = false")
+    long countLive();
+
+    //일괄 수정/삭제용 엔티티 조회. content 는 지연 로딩이라 읽지 않는다.
+    @Query("select p from Post p where p.postId in :postIds and p.deleted = false")
+    List<Post> findAllLiveById(@Param("postIds") Collection<Long> postIds);
+
+    //If-Match 버전 비교용. content를 읽지 않고 버전만 조회한다.
+    @Query("select p.version from Post p where p.postId = :postId and p.deleted = false")
+    Optional<Long> findVersionById(@Param("postId") Long postId);
+
+    //If-None-Match 확인용. content를 읽지 않고 버전과 조회수만 조회한다.
+    @Query("select new org.example.ohgiraffers.board.domain.dto.PostVersionResponse(p.version, p.viewCount) from Post p where p.postId = :postId and p.deleted = false")
+    Optional<PostVersionResponse> findVersionResponseById(@Param("postId") Long postId);
+
+    /** 단건 수정/삭제용 직접 쿼리
+     * 엔티티를 먼저 조회하지 않고 update 문 하나로 처리한다. 반환값은 변경된 행 수(0이면 없거나 삭제된 게시글)
+     * 영속성 컨텍스트를 거치지 않으므로 버전은 쿼리에서 직접 올리고, preview 도 호출하는 쪽에서 PostContentCodec.preview(content) 로 넘긴다.
+     */
+    @Modifying
+    @Query("update Post p set p.title = :title, p.content = :content, p.preview = :preview, p.version = p.version + 1 where p.postId = :postId and p.deleted = false")
+    int updateTitleAndContent(@Param("postId") Long postId, @Param("title") String title, @Param("content") String content,
+                              @Param("preview") String preview);
+
+    //If-Match 용. 버전까지 같을 때만 수정한다.
+    @Modifying
+    @Query("update Post p set p.title = :title, p.content = :content, p.preview = :preview, p.version = p.version + 1 where p.postId = :postId and p.version = :version and p.deleted = false")
+    int updateTitleAndContentIfVersion(@Param("postId") Long postId, @Param("title") String title, @Param("content") String content,
+                                       @Param("preview") String preview, @Param("version") Long version);
+
+    //삭제는 삭제 표시만 한다. 버전을 올려서, 삭제 전에 읽은 엔티티로 수정하려고 하면 OptimisticLock 이 나게 한다.
+    @Modifying
+    @Query("update Post p set p.deleted = true, p.version = p.version + 1 where p.postId = :postId and p.deleted = false")
+    int markDeletedById(@Param("postId") Long postId);
+
+    @Modifying
+    @Query("update Post p set p.deleted = true, p.version = p.version + 1 where p.postId in :postIds and p.deleted = false")
+    int markDeletedAllById(@Param("postIds") Collection<Long> postIds);
+
+    /** PostPurger 용. 삭제 표시된 게시글을 post_id 순으로 limit 개씩 찾아서 실제로 지운다.
+     * Post 의 @Where(deleted = false) 가 JPQL 에 붙으면 삭제 표시된 행을 찾을 수 없으므로 native SQL 로 실행한다.
+     */
+    @Query(value = "select post_id from post where deleted = true order by post_id asc", nativeQuery = true)
+    List<Long> findDeletedIds(Pageable limit);
+
+    @Modifying
+    @Query(value = "delete from post where post_id in (:postIds) and deleted = true", nativeQuery = true)
+    int purgeAllById(@Param("postIds") Collection<Long> postIds);
+
+    //전체 내보내기용. 결과를 한 번에 받지 않고 fetch size(1000) 단위로 DB 커서에서 나눠 받는다. (MySQL은 useCursorFetch=true 필요)
+    //엔티티가 아닌 DTO로 읽으므로 영속성 컨텍스트에 쌓이지 않는다. 반드시 트랜잭션 안에서 사용하고 다 쓰면 close 해야 한다.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query(READ_POST_RESPONSE + " order by p.postId asc")
+    Stream<ReadPostResponse> streamAllResponses();
 }
 //Post = 데이터베이스에 저장될 게시물을 나타내는 엔티티. (예, 게시물의 제목, 내용, 등의 정보를 포함)
 //Long = 게시물의 고유한 식별자(ID)를 나타낸다. 이 ID는 각 게시물을 식별하기 위해 사용.
@@ -0,0 +1,207 @@
+package org.example.ohgiraffers.board.search;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/** PostSearchIndex
+ * 게시글 제목/내용에 대한 메모리 역색인(inverted index). 단어 -> 그 단어가 들어있는 게시글 목록(PostingList)
+ * 검색 결과는 BM25 점수로 정렬하고, 제목에 나온 단어는 TITLE_BOOST 배로 계산한다.
+ * 검색(읽기)은 동시에 여러 개 실행되고, 색인 변경(쓰기)은 한 번에 하나만 실행된다.
+ *
+ * 오래된 게시글의 수정/삭제는 PostingList 의 보조 목록(추가 목록, tombstone)에만 기록해서 쓰기 잠금을 짧게 잡는다.
+ * 보조 목록이 생긴 단어는 dirtyTerms 에 모아두고, compact() 가 주기적으로 읽기 잠금 안에서 새 목록을 만든 뒤 쓰기 잠금 안에서 바꿔 끼운다.
+ */
+@Component
+public class PostSearchIndex {
+
+    private static final int TITLE_BOOST = 3;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+
+    private final Map<Long, IndexedPost> posts = new HashMap<>();  //게시글별 색인 정보 (수정/삭제 시 기존 단어를 지우기 위해 보관)
+
+    private final Set<String> dirtyTerms = new HashSet<>();    //보조 목록을 base 에 합쳐야 하는 단어
+
+    private long totalLength;   //모든 게시글의 단어 수 합 (평균 길이 계산용)
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    //색인된 게시글 정보. 검색 결과에 제목을 바로 담기 위해 title도 보관한다.
+    private record IndexedPost(String title, String[] terms, int length) {
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hit {
+        private final Long postId;
+        private final String title;
+        private final double score;
+    }
+
+    //게시글을 색인한다. 이미 색인된 게시글이면 기존 내용을 지우고 다시 색인한다.
+    public void index(Long postId, String title, String content) {
+
+        Map<String, Integer> termFrequencies = new HashMap<>();
+        List<String> titleTokens = PostTokenizer.tokenize(title);
+        List<String> contentTokens = PostTokenizer.tokenize(content);
+        titleTokens.forEach(token -> termFrequencies.merge(token, TITLE_BOOST, Integer::sum));
+        contentTokens.forEach(token -> termFrequencies.merge(token, 1, Integer::sum));
+        int length = titleTokens.size() * TITLE_BOOST + contentTokens.size();
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+            termFrequencies.forEach((term, termFrequency) -> {
+                PostingList postingList = postings.computeIfAbsent(term, key -> new PostingList());
+                postingList.add(postId, termFrequency, length);
+                if (postingList.pending() > 0) {
+                    dirtyTerms.add(term);
+                }
+            });
+            posts.put(postId, new IndexedPost(title, termFrequencies.keySet().toArray(String[]::new), length));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(postId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return posts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    //검색어의 단어가 하나라도 들어있는 게시글을 점수가 높은 순서로 limit 개 반환한다.
+    public List<Hit> search(String query, int limit) {
+
+        Set<String> terms = new LinkedHashSet<>(PostTokenizer.tokenize(query));
+        lock.readLock().lock();
+        try {
+            if (terms.isEmpty() || posts.isEmpty()) {
+                return List.of();
+            }
+            int documentCount = posts.size();
+            double averageLength = (double) totalLength / documentCount;
+
+            List<PostingList> postingLists = new ArrayList<>(terms.size());
+            int candidates = 0;
+            for (String term : terms) {
+                PostingList postingList = postings.get(term);
+                if (postingList != null) {
+                    postingLists.add(postingList);
+                    candidates += postingList.size();
+                }
+            }
+
+            //게시글 길이는 PostingList 에 같이 들어 있으므로 게시글마다 posts 를 찾지 않는다.
+            ScoreAccumulator scores = new ScoreAccumulator(Math.min(candidates, documentCount));
+            for (PostingList postingList : postingLists) {
+                int documentFrequency = postingList.size();
+                double idf = Math.log(1 + (documentCount - documentFrequency + 0.5) / (documentFrequency + 0.5));
+                postingList.forEach((postId, termFrequency, length) -> {
+                    double norm = K1 * (1 - B + B * length / averageLength);
+                    scores.add(postId, idf * termFrequency * (K1 + 1) / (termFrequency + norm));
+                });
+            }
+
+            //점수 상위 limit 개만 남긴다. 제목은 남은 게시글만 찾는다.
+            int size = Math.min(limit, scores.size());
+            long[] postIds = new long[size];
+            double[] topScores = new double[size];
+            int count = scores.top(size, postIds, topScores);
+            List<Hit> hits = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                hits.add(new Hit(postIds[i], posts.get(postIds[i]).title(), topScores[i]));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeInternal(Long postId) {
+        IndexedPost indexed = posts.remove(postId);
+        if (indexed == null) {
+            return;
+        }
+        for (String term : indexed.terms()) {
+            PostingList postingList = postings.get(term);
+            if (postingList == null) {
+                continue;
+            }
+            postingList.remove(postId);
+            if (postingList.isEmpty()) {
+                postings.remove(term);
+                dirtyTerms.remove(term);
+            } else if (postingList.pending() > 0) {
+                dirtyTerms.add(term);
+            }
+        }
+        totalLength -= indexed.length();
+    }
+
+    /** 보조 목록 합치기
+     * 단어마다 읽기 잠금 안에서 합친 새 목록을 만들고(검색과 동시에 실행), 쓰기 잠금은 바꿔 끼울 때만 잠깐 잡는다.
+     * 만드는 사이에 그 단어가 바뀌었으면 바꾸지 않는다. (바꾼 쪽이 dirtyTerms 에 다시 넣었으므로 다음 주기에 합친다)
+     */
+    @Scheduled(fixedDelayString = "${board.search.compact-interval:1000}")
+    public void compact() {
+        List<String> terms;
+        lock.writeLock().lock();
+        try {
+            if (dirtyTerms.isEmpty()) {
+                return;
+            }
+            terms = new ArrayList<>(dirtyTerms);
+            dirtyTerms.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        for (String term : terms) {
+            PostingList current;
+            int modifications;
+            PostingList compacted;
+            lock.readLock().lock();
+            try {
+                current = postings.get(term);
+                if (current == null || current.pending() == 0) {
+                    continue;
+                }
+                modifications = current.modifications();
+                compacted = current.compact();
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            lock.writeLock().lock();
+            try {
+                if (postings.get(term) == current && current.modifications() == modifications) {
+                    postings.put(term, compacted);
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example.ohgiraffers.board.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.example.ohgiraffers.board.domain.dto.SearchPostResponse;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/** PostSearchService
+ * PostSearchIndex를 DB와 맞춰 유지하고, 검색 요청을 처리한다.
+ * - 시작 시: 모든 게시글을 postId 순서로 나눠 읽어서 색인을 만든다. (board.startup.exit-on-ready=true 인 학습 실행에서는 DB 를 읽지 않도록 건너뜀)
+ * - 게시글 변경 시: PostChangedEvent를 받아서 해당 게시글만 다시 색인하거나 지운다. (다른 인스턴스의 변경 포함)
+ *
+ * 색인 작업은 요청 스레드가 아닌 전용 스레드 하나에서 받은 순서대로 처리한다.
+ * 변경 이벤트마다 DB의 현재 상태를 다시 읽기 때문에, 순서대로만 처리하면 마지막 상태가 색인에 남는다.
+ */
+@Slf4j
+@Service
+public class PostSearchService {
+
+    private static final int REBUILD_PAGE_SIZE = 1000;
+    private static final int MAX_SEARCH_SIZE = 100;
+
+    private final PostSearchIndex postSearchIndex;
+
+    private final PostRepository postRepository;
+
+    @Value("${board.startup.exit-on-ready:false}")
+    private boolean exitOnReady;
+
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PostSearchService(PostSearchIndex postSearchIndex, PostRepository postRepository) {
+        this.postSearchIndex = postSearchIndex;
+        this.postRepository = postRepository;
+    }
+
+    public List<SearchPostResponse> search(String query, int size) {
+
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("검색어(q)를 입력해야 합니다.");
+        }
+        if (size < 1 || size > MAX_SEARCH_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_SEARCH_SIZE + " 이하여야 합니다.");
+        }
+        return postSearchIndex.search(query, size).stream()
+                .map(hit -> new SearchPostResponse(hit.getPostId(), hit.getTitle(), hit.getScore()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (exitOnReady) {
+            return;
+        }
+        indexer.execute(this::rebuild);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostChanged(PostChangedEvent event) {
+        indexer.execute(() -> apply(event));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    //keyset 방식으로 REBUILD_PAGE_SIZE 개씩 읽어서 색인한다. (OFFSET을 쓰지 않으므로 뒤쪽도 같은 속도)
+    private void rebuild() {
+        long started = System.currentTimeMillis();
+        long lastPostId = 0;
+        List<ReadPostResponse> posts;
+        try {
+            do {
+                posts = postRepository.findResponsesAfter(lastPostId, PageRequest.of(0, REBUILD_PAGE_SIZE));
+                for (ReadPostResponse post : posts) {
+                    postSearchIndex.index(post.getPostId(), post.getTitle(), post.getContent());
+                    lastPostId = post.getPostId();
+                }
+            } while (posts.size() == REBUILD_PAGE_SIZE);
+            log.info("게시글 검색 색인 생성 완료: {}건, {}ms", postSearchIndex.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            log.error("게시글 검색 색인 생성 실패 (postId {} 까지 색인됨)", lastPostId, e);
+        }
+    }
+
+    private void apply(PostChangedEvent event) {
+        try {
+            if (event.getChangeType() == PostChangeType.DELETED) {
+                postSearchIndex.remove(event.getPostId());
+                return;
+            }
+            postRepository.findResponseById(event.getPostId()).ifPresentOrElse(
+                    post -> postSearchIndex.index(post.getPostId(), post.getTitle(), post.getContent()),
+                    () -> postSearchIndex.remove(event.getPostId()));
+        } catch (RuntimeException e) {
+            log.warn("게시글 검색 색인 갱신 실패: postId={}", event.getPostId(), e);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.example.ohgiraffers.board.search;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/** PostTokenizer
+ * 검색 색인과 검색어에 같은 규칙을 적용하는 토크나이저.
+ * 한글은 띄어쓰기와 조사 때문에 단어 단위로 자르면 "게시글을"과 "게시글"이 다른 단어가 된다.
+ * 그래서 한글 구간은 두 글자씩 겹쳐 자르는(bigram) 방식을 사용한다. 예) "게시글을" -> 게시, 시글, 글을
+ * 영문/숫자는 소문자로 바꾼 단어 단위로 자른다.
+ */
+public final class PostTokenizer {
+
+    private PostTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int i = 0;
+        int length = lower.length();
+        while (i < length) {
+            char c = lower.charAt(i);
+            int start = i;
+            if (isHangul(c)) {
+                while (i < length && isHangul(lower.charAt(i))) {
+                    i++;
+                }
+                addBigrams(lower, start, i, tokens);
+            } else if (Character.isLetterOrDigit(c)) {
+                while (i < length && Character.isLetterOrDigit(lower.charAt(i)) && !isHangul(lower.charAt(i))) {
+                    i++;
+                }
+                tokens.add(lower.substring(start, i));
+            } else {
+                i++;    //공백, 문장부호는 버린다.
+            }
+        }
+        return tokens;
+    }
+
+    private static void addBigrams(String text, int start, int end, List<String> tokens) {
+        if (end - start == 1) {
+            tokens.add(text.substring(start, end)); //한 글자짜리 한글은 그대로
+            return;
+        }
+        for (int i = start; i + 2 <= end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isHangul(char c) {
+        return (c >= '가' && c <= '힣')     //완성형 한글
+                || (c >= 'ㄱ' && c <= 'ㆎ'); //자음, 모음
+    }
+}
@@ -0,0 +1,176 @@
+package org.example.ohgiraffers.board.search;
+
+import java.util.Arrays;
+
+/** PostingList
+ * 한 단어(term)가 등장하는 게시글 목록. (postId 오름차순, 게시글별 등장 횟수 tf, 게시글 길이)
+ * 게시글 길이를 같이 넣어두기 때문에 BM25 점수를 계산할 때 게시글 정보를 따로 찾지 않는다.
+ *
+ * 기본 목록(base)은 postId 를 앞 항목과의 차이(delta)만, tf/길이와 함께 가변 길이 정수(varint)로 byte 배열에 압축해서 저장한다.
+ * 새 게시글은 대부분 가장 큰 postId로 들어오므로 base 뒤에 이어 붙이기만 한다.
+ * 중간 위치의 변경은 base 를 다시 압축하지 않고 작은 보조 목록에만 기록한다.
+ * - 추가: postId 순으로 정렬된 추가 목록(added)
+ * - 삭제: base 의 항목을 지웠다는 표시(tombstones, 정렬된 postId)
+ * 읽을 때는 base 와 added 를 postId 순서로 합치면서 tombstone 이 붙은 항목은 건너뛴다.
+ * 보조 목록은 PostSearchIndex 가 주기적으로 compact() 해서 base 에 합친다. (요청 스레드와 색인 쓰기 잠금 밖에서)
+ *
+ * 호출하는 쪽(PostSearchIndex)이 게시글별 단어 목록을 보관하므로, add 는 목록에 없는 게시글만, remove 는 목록에 있는 게시글만 호출한다.
+ * 동기화는 PostSearchIndex가 담당한다.
+ */
+final class PostingList {
+
+    @FunctionalInterface
+    interface PostingConsumer {
+        void accept(long postId, int termFrequency, int length);
+    }
+
+    private byte[] data = new byte[8];
+    private int dataLength;     //사용 중인 byte 수
+    private int baseSize;       //base 의 항목 수 (tombstone 포함)
+    private long lastPostId;    //base 마지막 항목의 postId
+
+    private long[] addedPostIds = new long[0];
+    private int[] addedTermFrequencies = new int[0];
+    private int[] addedLengths = new int[0];
+    private int addedSize;
+
+    private long[] tombstones = new long[0];
+    private int tombstoneSize;
+
+    private int modifications;  //compact() 하는 동안 바뀌었는지 확인하기 위한 변경 횟수
+
+    //게시글 수 (document frequency)
+    int size() {
+        return baseSize - tombstoneSize + addedSize;
+    }
+
+    boolean isEmpty() {
+        return size() == 0;
+    }
+
+    //base 에 합쳐지지 않은 변경 수
+    int pending() {
+        return addedSize + tombstoneSize;
+    }
+
+    int modifications() {
+        return modifications;
+    }
+
+    void add(long postId, int termFrequency, int length) {
+        modifications++;
+        if (postId > lastPostId) {
+            append(postId, termFrequency, length);
+            return;
+        }
+        int index = -Arrays.binarySearch(addedPostIds, 0, addedSize, postId) - 1;
+        if (addedSize == addedPostIds.length) {
+            int capacity = Math.max(4, addedSize * 2);
+            addedPostIds = Arrays.copyOf(addedPostIds, capacity);
+            addedTermFrequencies = Arrays.copyOf(addedTermFrequencies, capacity);
+            addedLengths = Arrays.copyOf(addedLengths, capacity);
+        }
+        System.arraycopy(addedPostIds, index, addedPostIds, index + 1, addedSize - index);
+        System.arraycopy(addedTermFrequencies, index, addedTermFrequencies, index + 1, addedSize - index);
+        System.arraycopy(addedLengths, index, addedLengths, index + 1, addedSize - index);
+        addedPostIds[index] = postId;
+        addedTermFrequencies[index] = termFrequency;
+        addedLengths[index] = length;
+        addedSize++;
+    }
+
+    void remove(long postId) {
+        modifications++;
+        int index = Arrays.binarySearch(addedPostIds, 0, addedSize, postId);
+        if (index >= 0) {   //아직 base 에 합쳐지지 않은 게시글
+            System.arraycopy(addedPostIds, index + 1, addedPostIds, index, addedSize - index - 1);
+            System.arraycopy(addedTermFrequencies, index + 1, addedTermFrequencies, index, addedSize - index - 1);
+            System.arraycopy(addedLengths, index + 1, addedLengths, index, addedSize - index - 1);
+            addedSize--;
+            return;
+        }
+        int insertAt = -Arrays.binarySearch(tombstones, 0, tombstoneSize, postId) - 1;
+        if (tombstoneSize == tombstones.length) {
+            tombstones = Arrays.copyOf(tombstones, Math.max(4, tombstoneSize * 2));
+        }
+        System.arraycopy(tombstones, insertAt, tombstones, insertAt + 1, tombstoneSize - insertAt);
+        tombstones[insertAt] = postId;
+        tombstoneSize++;
+    }
+
+    //postId 오름차순으로 읽는다. base 와 added 는 각각 정렬되어 있으므로 한 번씩만 훑으면서 합친다.
+    void forEach(PostingConsumer consumer) {
+        int position = 0;
+        long postId = 0;
+        int tombstone = 0;
+        int added = 0;
+        while (position < dataLength) {
+            long delta = 0;
+            int shift = 0;
+            byte b;
+            do {
+                b = data[position++];
+                delta |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            postId += delta;
+            int termFrequency = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                termFrequency |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            int length = 0;
+            shift = 0;
+            do {
+                b = data[position++];
+                length |= (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+
+            while (added < addedSize && addedPostIds[added] < postId) {
+                consumer.accept(addedPostIds[added], addedTermFrequencies[added], addedLengths[added]);
+                added++;
+            }
+            while (tombstone < tombstoneSize && tombstones[tombstone] < postId) {
+                tombstone++;
+            }
+            if (tombstone < tombstoneSize && tombstones[tombstone] == postId) {
+                tombstone++;
+                continue;
+            }
+            consumer.accept(postId, termFrequency, length);
+        }
+        for (; added < addedSize; added++) {
+            consumer.accept(addedPostIds[added], addedTermFrequencies[added], addedLengths[added]);
+        }
+    }
+
+    //보조 목록을 base 에 합친 새 목록. 이 목록은 바꾸지 않으므로 읽기 잠금만으로 만들 수 있다.
+    PostingList compact() {
+        PostingList compacted = new PostingList();
+        compacted.data = new byte[Math.max(8, dataLength + addedSize * 4)];
+        forEach(compacted::append);
+        return compacted;
+    }
+
+    private void append(long postId, int termFrequency, int length) {
+        writeVarLong(postId - lastPostId);
+        writeVarLong(termFrequency);
+        writeVarLong(length);
+        lastPostId = postId;
+        baseSize++;
+    }
+
+    private void writeVarLong(long value) {
+        if (data.length - dataLength < 10) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, dataLength + 10));
+        }
+        while ((value & ~0x7FL) != 0) {
+            data[dataLength++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[dataLength++] = (byte) value;
+    }
+}
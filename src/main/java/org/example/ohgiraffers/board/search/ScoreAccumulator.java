@@ -0,0 +1,135 @@
+package org.example.ohgiraffers.board.search;
+
+/** ScoreAccumulator
+ * 검색 한 번 동안 게시글별 점수를 더해두는 postId -> score 맵.
+ * HashMap<Long, Double> 은 점수를 더할 때마다 Long/Double 객체와 Entry 를 만들기 때문에,
+ * long[]/double[] 두 배열에 열린 주소 방식(linear probing)으로 저장한다. (postId 는 1 이상이므로 0 을 빈 칸으로 쓴다)
+ * 검색 스레드 하나에서만 사용한다.
+ */
+final class ScoreAccumulator {
+
+    private long[] keys;
+    private double[] values;
+    private int mask;
+    private int size;
+
+    ScoreAccumulator(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        keys = new long[capacity];
+        values = new double[capacity];
+        mask = capacity - 1;
+    }
+
+    void add(long postId, double score) {
+        int slot = slot(postId);
+        while (keys[slot] != 0) {
+            if (keys[slot] == postId) {
+                values[slot] += score;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = postId;
+        values[slot] = score;
+        if (++size * 2 > keys.length) {
+            grow();
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** 점수가 높은 순서로 최대 limit 개를 postIds/scores 에 채우고 개수를 반환한다.
+     * 크기 limit 의 최소 힙(맨 위가 가장 낮은 점수)으로 상위만 남긴다.
+     */
+    int top(int limit, long[] postIds, double[] scores) {
+        if (limit <= 0) {
+            return 0;
+        }
+        int count = 0;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] == 0) {
+                continue;
+            }
+            if (count < limit) {
+                postIds[count] = keys[slot];
+                scores[count] = values[slot];
+                siftUp(postIds, scores, count++);
+            } else if (values[slot] > scores[0]) {
+                postIds[0] = keys[slot];
+                scores[0] = values[slot];
+                siftDown(postIds, scores, count);
+            }
+        }
+        //힙에서 가장 낮은 점수를 하나씩 꺼내 뒤에서부터 채우면 점수 내림차순이 된다.
+        for (int end = count - 1; end > 0; end--) {
+            swap(postIds, scores, 0, end);
+            siftDown(postIds, scores, end);
+        }
+        return count;
+    }
+
+    private int slot(long postId) {
+        long hash = postId * 0x9E3779B97F4A7C15L;   //연속된 postId 가 한곳에 몰리지 않도록 섞는다.
+        return (int) (hash >>> 32) & mask;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        double[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new double[oldKeys.length * 2];
+        mask = keys.length - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static void siftUp(long[] postIds, double[] scores, int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (scores[parent] <= scores[index]) {
+                return;
+            }
+            swap(postIds, scores, parent, index);
+            index = parent;
+        }
+    }
+
+    private static void siftDown(long[] postIds, double[] scores, int size) {
+        int index = 0;
+        while (true) {
+            int smallest = index;
+            int left = index * 2 + 1;
+            int right = left + 1;
+            if (left < size && scores[left] < scores[smallest]) {
+                smallest = left;
+            }
+            if (right < size && scores[right] < scores[smallest]) {
+                smallest = right;
+            }
+            if (smallest == index) {
+                return;
+            }
+            swap(postIds, scores, index, smallest);
+            index = smallest;
+        }
+    }
+
+    private static void swap(long[] postIds, double[] scores, int i, int j) {
+        long postId = postIds[i];
+        postIds[i] = postIds[j];
+        postIds[j] = postId;
+        double score = scores[i];
+        scores[i] = scores[j];
+        scores[j] = score;
+    }
+}
@@ -0,0 +1,166 @@
+package org.example.ohgiraffers.board.service;
+
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.dto.*;
+import org.example.ohgiraffers.board.domain.entity.Post;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/** PostBatchService
+ * 여러 게시글을 한 번의 요청으로 생성/수정/삭제한다.
+ * 요청 목록을 chunkSize 개씩 나눠서 묶음마다 하나의 트랜잭션으로 처리하고,
+ * 같은 묶음의 insert/update는 Hibernate JDBC batch(hibernate.jdbc.batch_size)로 모아서 전송된다.
+ *
+ * 한 묶음이 실패하면 그 묶음만 롤백되고(FAILED), 나머지 묶음은 계속 처리된다.
+ * 항목별 결과는 요청 순서대로 BatchPostResult에 담긴다.
+ */
+@Slf4j
+@Service
+public class PostBatchService {
+
+    private final PostRepository postRepository;
+
+    private final PostChangePublisher postChangePublisher;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final int maxItems;
+
+    public PostBatchService(PostRepository postRepository,
+                            PostChangePublisher postChangePublisher,
+                            EntityManager entityManager,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${board.batch.chunk-size:100}") int chunkSize,
+                            @Value("${board.batch.max-items:1000}") int maxItems) {
+        this.postRepository = postRepository;
+        this.postChangePublisher = postChangePublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxItems = maxItems;
+    }
+
+    public BatchPostResponse createPosts(List<CreatePostRequest> requests) {
+
+        return process(requests, request -> null, (offset, chunk) -> {
+            List<Post> posts = chunk.stream()
+                    .map(request -> Post.builder()
+                            .title(request.getTitle())
+                            .content(request.getContent())
+                            .build())
+                    .toList();
+            postRepository.saveAll(posts);  //id는 미리 할당받은 블록에서 가져오므로 insert가 batch로 모인다.
+            postChangePublisher.publishAll(posts.stream().map(Post::getPostId).toList(), PostChangeType.CREATED);
+
+            List<BatchPostResult> results = new ArrayList<>();
+            for (int i = 0; i < posts.size(); i++) {
+                results.add(new BatchPostResult(offset + i, posts.get(i).getPostId(), BatchPostStatus.CREATED, null));
+            }
+            return results;
+        });
+    }
+
+    public BatchPostResponse updatePosts(List<BatchUpdatePostRequest> requests) {
+
+        return process(requests, BatchUpdatePostRequest::getPostId, (offset, chunk) -> {
+            Map<Long, Post> found = findAllById(chunk.stream().map(BatchUpdatePostRequest::getPostId).toList());
+
+            List<BatchPostResult> results = new ArrayList<>();
+            List<Long> updatedIds = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                BatchUpdatePostRequest request = chunk.get(i);
+                Post post = found.get(request.getPostId());
+                if (post == null) {
+                    results.add(notFound(offset + i, request.getPostId()));
+                    continue;
+                }
+                post.update(request.getTitle(), request.getContent());  //Dirty Checking, flush 시점에 update가 batch로 모인다.
+                updatedIds.add(post.getPostId());
+                results.add(new BatchPostResult(offset + i, post.getPostId(), BatchPostStatus.UPDATED, null));
+            }
+            postChangePublisher.publishAll(updatedIds, PostChangeType.UPDATED);
+            return results;
+        });
+    }
+
+    public BatchPostResponse deletePosts(List<Long> postIds) {
+
+        return process(postIds, Function.identity(), (offset, chunk) -> {
+            Map<Long, Post> found = findAllById(chunk);
+            if (!found.isEmpty()) {
+                postRepository.markDeletedAllById(found.keySet());  //update 문 한 번으로 묶음 전체에 삭제 표시 (행은 PostPurger 가 지운다)
+            }
+
+            List<BatchPostResult> results = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                Long postId = chunk.get(i);
+                results.add(found.containsKey(postId)
+                        ? new BatchPostResult(offset + i, postId, BatchPostStatus.DELETED, null)
+                        : notFound(offset + i, postId));
+            }
+            postChangePublisher.publishAll(List.copyOf(found.keySet()), PostChangeType.DELETED);
+            return results;
+        });
+    }
+
+    //묶음 하나를 처리하는 함수. offset은 묶음의 첫 항목이 요청 목록에서 몇 번째인지를 나타낸다.
+    @FunctionalInterface
+    private interface ChunkHandler<T> {
+        List<BatchPostResult> handle(int offset, List<T> chunk);
+    }
+
+    private <T> BatchPostResponse process(List<T> items, Function<T, Long> postIdOf, ChunkHandler<T> handler) {
+
+        if (items == null || items.isEmpty() || items.size() > maxItems) {
+            throw new IllegalArgumentException("일괄 처리 항목은 1개 이상 " + maxItems + "개 이하여야 합니다.");
+        }
+
+        List<BatchPostResult> results = new ArrayList<>(items.size());
+        for (int offset = 0; offset < items.size(); offset += chunkSize) {
+            List<T> chunk = items.subList(offset, Math.min(offset + chunkSize, items.size()));
+            int chunkOffset = offset;
+            try {
+                results.addAll(transactionTemplate.execute(status -> {
+                    List<BatchPostResult> chunkResults = handler.handle(chunkOffset, chunk);
+                    entityManager.flush();  //커밋 전에 SQL을 보내서, 실패하면 이 묶음 안에서 예외가 나도록 한다.
+                    entityManager.clear();  //요청 전체에 걸쳐 엔티티가 쌓이지 않도록 묶음마다 비운다.
+                    return chunkResults;
+                }));
+            } catch (RuntimeException e) {
+                log.warn("게시글 일괄 처리 실패 (항목 {} ~ {})", chunkOffset, chunkOffset + chunk.size() - 1, e);
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(new BatchPostResult(chunkOffset + i, postIdOf.apply(chunk.get(i)), BatchPostStatus.FAILED, e.getMessage()));
+                }
+            }
+        }
+
+        int failed = (int) results.stream()
+                .filter(result -> result.getStatus() == BatchPostStatus.NOT_FOUND || result.getStatus() == BatchPostStatus.FAILED)
+                .count();
+        return new BatchPostResponse(results.size() - failed, failed, results);
+    }
+
+    private Map<Long, Post> findAllById(List<Long> postIds) {
+        return postRepository.findAllLiveById(postIds).stream()
+                .collect(Collectors.toMap(Post::getPostId, Function.identity()));
+    }
+
+    private BatchPostResult notFound(int index, Long postId) {
+        return new BatchPostResult(index, postId, BatchPostStatus.NOT_FOUND, "해당 postId로 조회된 게시글이 없습니다.");
+    }
+}
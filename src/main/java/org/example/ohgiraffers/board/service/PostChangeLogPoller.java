@@ -0,0 +1,80 @@
+package org.example.ohgiraffers.board.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.entity.PostChangeLog;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.example.ohgiraffers.board.repository.PostChangeLogRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/** PostChangeLogPoller
+ * 다른 인스턴스가 남긴 변경 로그를 주기적으로 읽어서, 현재 인스턴스에 PostChangedEvent(remote = true)로 다시 발행한다.
+ * 브로커 없이 DB 테이블만으로 인스턴스 간 캐시 무효화를 전달하기 위한 클래스.
+ *
+ * 트랜잭션은 늦게 커밋될 수 있기 때문에(먼저 시작한 트랜잭션의 로그가 나중에 보일 수 있음),
+ * 마지막 폴링 시각보다 lookback 만큼 앞에서부터 겹쳐 읽고, 이미 처리한 로그 id는 건너뛴다.
+ * 인스턴스 간 시계 차이도 lookback 안에서 흡수된다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostChangeLogPoller {
+
+    private final PostChangeLogRepository postChangeLogRepository;
+
+    private final PostChangePublisher postChangePublisher;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${board.change-log.lookback:5s}")
+    private Duration lookback;
+
+    @Value("${board.change-log.retention:1h}")
+    private Duration retention;
+
+    private LocalDateTime lastPolledAt = LocalDateTime.now();   //시작 이전의 변경은 이미 DB에 반영된 상태이므로 다시 읽지 않는다.
+
+    private final Map<Long, LocalDateTime> processed = new HashMap<>();    //lookback 구간 안에서 이미 처리한 로그 id
+
+    //트랜잭션 밖에서 이벤트를 발행해야 리스너가 바로 실행된다. (fallbackExecution)
+    @Scheduled(fixedDelayString = "${board.change-log.poll-interval:1000}")
+    public synchronized void poll() {
+
+        LocalDateTime pollStartedAt = LocalDateTime.now();
+        LocalDateTime since = lastPolledAt.minus(lookback);
+
+        List<PostChangeLog> changes = postChangeLogRepository.findByChangedAtAfterOrderByIdAsc(since);
+        for (PostChangeLog change : changes) {
+            if (processed.putIfAbsent(change.getId(), change.getChangedAt()) != null) {
+                continue;   //이전 폴링에서 이미 처리한 로그
+            }
+            if (postChangePublisher.getNodeId().equals(change.getOrigin())) {
+                continue;   //자기 자신의 변경은 커밋 시점에 이미 처리됨
+            }
+            eventPublisher.publishEvent(new PostChangedEvent(change.getPostId(), change.getChangeType(), true));
+        }
+
+        processed.values().removeIf(changedAt -> changedAt.isBefore(since));
+        lastPolledAt = pollStartedAt;
+    }
+
+    //보관 기간이 지난 로그를 지운다. 여러 인스턴스가 동시에 실행해도 결과는 같다.
+    @Scheduled(fixedDelayString = "${board.change-log.cleanup-interval:600000}")
+    @Transactional
+    public void cleanUp() {
+        int deleted = postChangeLogRepository.deleteOlderThan(LocalDateTime.now().minus(retention));
+        if (deleted > 0) {
+            log.debug("오래된 게시글 변경 로그 {}건 삭제", deleted);
+        }
+    }
+}
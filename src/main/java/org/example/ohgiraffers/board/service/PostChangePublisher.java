@@ -0,0 +1,71 @@
+package org.example.ohgiraffers.board.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.domain.entity.PostChangeLog;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.example.ohgiraffers.board.repository.PostChangeLogRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/** PostChangePublisher
+ * 게시글 변경을 변경 로그 테이블에 남기고, PostChangedEvent를 발행한다.
+ * 반드시 게시글을 변경하는 트랜잭션 안에서 호출되어야 한다. (로그와 게시글 변경이 함께 커밋/롤백되도록)
+ * 이벤트는 @TransactionalEventListener로 받기 때문에 실제로는 커밋 이후에 처리된다.
+ */
+@Component
+@RequiredArgsConstructor
+public class PostChangePublisher {
+
+    @Getter
+    private final String nodeId = UUID.randomUUID().toString();    //현재 인스턴스를 구분하는 id
+
+    private final PostChangeLogRepository postChangeLogRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(Long postId, PostChangeType changeType) {
+
+        postChangeLogRepository.save(PostChangeLog.builder()
+                .postId(postId)
+                .changeType(changeType)
+                .origin(nodeId)
+                .changedAt(LocalDateTime.now())
+                .build());
+
+        eventPublisher.publishEvent(new PostChangedEvent(postId, changeType, false));
+    }
+
+    //여러 게시글의 변경을 한 번에 남긴다. 로그 insert는 JDBC batch 한 번으로 전송된다. (일괄 처리 API에서 사용)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishAll(List<Long> postIds, PostChangeType changeType) {
+
+        if (postIds.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(
+                "insert into post_change_log (post_id, change_type, origin, changed_at) values (?, ?, ?, ?)",
+                postIds, postIds.size(),
+                (ps, postId) -> {
+                    ps.setLong(1, postId);
+                    ps.setString(2, changeType.name());
+                    ps.setString(3, nodeId);
+                    ps.setTimestamp(4, changedAt);
+                });
+
+        postIds.forEach(postId -> eventPublisher.publishEvent(new PostChangedEvent(postId, changeType, false)));
+    }
+}
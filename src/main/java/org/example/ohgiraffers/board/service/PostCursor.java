@@ -0,0 +1,42 @@
+package org.example.ohgiraffers.board.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/** PostCursor
+ * 커서 기반 페이지네이션에서 사용하는 커서.
+ * "방향:기준 postId"를 Base64(URL-safe)로 감싸서 클라이언트에게는 의미 없는 문자열(opaque)로 전달한다.
+ * NEXT: 기준 postId보다 작은(오래된) 글, PREV: 기준 postId보다 큰(최근) 글
+ */
+@Getter
+@AllArgsConstructor
+class PostCursor {
+
+    enum Direction { NEXT, PREV }
+
+    private final Direction direction;
+    private final long postId;
+
+    String encode() {
+        String raw = (direction == Direction.NEXT ? "n:" : "p:") + postId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    //잘못된 커서가 들어오면 IllegalArgumentException (400 Bad Request)
+    static PostCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            Direction direction = switch (raw.substring(0, 2)) {
+                case "n:" -> Direction.NEXT;
+                case "p:" -> Direction.PREV;
+                default -> throw new IllegalArgumentException();
+            };
+            return new PostCursor(direction, Long.parseLong(raw.substring(2)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("잘못된 cursor 값입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package org.example.ohgiraffers.board.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.dto.ReadPostResponse;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+/** PostExportService
+ * 모든 게시글을 NDJSON(한 줄에 JSON 하나)으로 출력 스트림에 바로 쓴다. (백업용)
+ * 게시글을 한꺼번에 메모리에 올리지 않고 DB 커서(Stream<ReadPostResponse>)로 한 건씩 읽어서 쓰고,
+ * 엔티티가 아닌 DTO로 읽어서 영속성 컨텍스트에 쌓이지 않기 때문에 게시글 수와 상관없이 메모리 사용량이 일정하다.
+ */
+@Slf4j
+@Service
+public class PostExportService {
+
+    private static final int FLUSH_EVERY = 1000;
+
+    private final PostRepository postRepository;
+
+    private final ObjectWriter writer;
+
+    public PostExportService(PostRepository postRepository, ObjectMapper objectMapper) {
+        this.postRepository = postRepository;
+        this.writer = objectMapper.writerFor(ReadPostResponse.class);
+    }
+
+    //Stream은 트랜잭션(커넥션)이 열려 있는 동안에만 읽을 수 있다.
+    @Transactional(readOnly = true)
+    public long exportTo(OutputStream outputStream, boolean gzip) throws IOException {
+
+        OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+        long count = 0;
+        try (Stream<ReadPostResponse> posts = postRepository.streamAllResponses()) {
+            Iterator<ReadPostResponse> iterator = posts.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                if (++count % FLUSH_EVERY == 0) {
+                    out.flush();
+                }
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (out instanceof GZIPOutputStream gzipOut) {
+            gzipOut.finish();
+        }
+        out.flush();
+        log.info("게시글 {}건 내보내기 완료", count);
+        return count;
+    }
+}
@@ -0,0 +1,364 @@
+package org.example.ohgiraffers.board.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.domain.dto.ImportPostError;
+import org.example.ohgiraffers.board.domain.dto.ImportPostResponse;
+import org.example.ohgiraffers.board.domain.entity.Post;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/** PostImportService
+ * NDJSON(한 줄에 게시글 JSON 하나) 또는 CSV(title,content 헤더) 본문을 읽으면서 바로 게시글로 저장한다. (새 환경 초기 데이터 적재용)
+ * 본문 전체를 메모리에 올리지 않고 한 줄(레코드)씩 읽어서 chunkSize 개가 모이면 하나의 트랜잭션으로 저장한다.
+ * 요청 본문은 읽는 만큼만 소켓에서 받아오므로, DB 저장이 느리면 클라이언트 전송도 자연스럽게 느려진다.
+ *
+ * 형식이 잘못된 줄은 건너뛰고 오류로 남긴다. 묶음 저장이 실패하면 그 묶음의 줄만 오류가 되고 나머지는 계속 처리된다.
+ * 레코드 하나는 max-record-length 글자까지만 읽는다. 아주 긴 줄이나 닫히지 않은 따옴표 때문에 남은 본문 전체가 메모리에 쌓이지 않도록.
+ * - NDJSON: 긴 줄은 줄 끝까지 버리고 오류로 남긴 뒤 다음 줄부터 계속한다.
+ * - CSV: 레코드의 끝을 알 수 없으므로(따옴표 안일 수 있음) 그 레코드를 오류로 남기고 가져오기를 멈춘다.
+ * 진행 상황은 묶음마다 board.import.posts{result=imported|failed} 지표로 올라가므로 가져오는 도중에도 /actuator/metrics 로 확인할 수 있다.
+ */
+@Slf4j
+@Service
+public class PostImportService {
+
+    public enum Format { NDJSON, CSV }
+
+    private final PostRepository postRepository;
+
+    private final PostChangePublisher postChangePublisher;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ObjectReader reader;
+
+    private final int chunkSize;
+
+    private final int maxErrors;
+
+    private final int maxRecordLength;
+
+    private final Counter importedCounter;
+
+    private final Counter failedCounter;
+
+    public PostImportService(PostRepository postRepository,
+                             PostChangePublisher postChangePublisher,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             MeterRegistry meterRegistry,
+                             @Value("${board.import.chunk-size:1000}") int chunkSize,
+                             @Value("${board.import.max-errors:100}") int maxErrors,
+                             @Value("${board.import.max-record-length:1048576}") int maxRecordLength) {
+        this.postRepository = postRepository;
+        this.postChangePublisher = postChangePublisher;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reader = objectMapper.readerFor(CreatePostRequest.class);
+        this.chunkSize = chunkSize;
+        this.maxErrors = maxErrors;
+        this.maxRecordLength = maxRecordLength;
+        this.importedCounter = Counter.builder("board.import.posts").tag("result", "imported").register(meterRegistry);
+        this.failedCounter = Counter.builder("board.import.posts").tag("result", "failed").register(meterRegistry);
+    }
+
+    public ImportPostResponse importPosts(InputStream inputStream, Format format) throws IOException {
+
+        Progress progress = new Progress();
+        List<CreatePostRequest> chunk = new ArrayList<>(chunkSize);
+        long chunkFirstLine = 1;
+
+        try (BufferedReader in = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8), 64 * 1024)) {
+            RecordReader records = format == Format.CSV ? new CsvRecordReader(in, maxRecordLength) : new NdjsonRecordReader(in, maxRecordLength);
+            String[] header = format == Format.CSV ? records.next() : null;
+            if (format == Format.CSV && (header == null || header.length < 2
+                    || !"title".equalsIgnoreCase(header[0].replace("\uFEFF", "").trim()) || !"content".equalsIgnoreCase(header[1].trim()))) {
+                throw new IllegalArgumentException("CSV 첫 줄은 title,content 헤더여야 합니다.");
+            }
+
+            while (true) {
+                String[] record;
+                try {
+                    record = records.next();
+                } catch (RecordTooLongException e) {
+                    progress.error(records.line(), e.getMessage(), 1);
+                    if (e.skipped) {
+                        continue;
+                    }
+                    break;
+                } catch (IllegalArgumentException e) { //본문 끝까지 닫히지 않은 따옴표 등, 더 읽을 수 없는 경우
+                    progress.error(records.line(), e.getMessage(), 1);
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                long line = records.line();
+                CreatePostRequest request;
+                try {
+                    request = toRequest(record, format);
+                } catch (IllegalArgumentException e) {
+                    progress.error(line, e.getMessage(), 1);
+                    continue;
+                }
+                if (chunk.isEmpty()) {
+                    chunkFirstLine = line;
+                }
+                chunk.add(request);
+                if (chunk.size() == chunkSize) {
+                    saveChunk(chunk, chunkFirstLine, records.line(), progress);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                saveChunk(chunk, chunkFirstLine, records.line(), progress);
+            }
+        }
+
+        log.info("게시글 가져오기 완료: 성공 {}건, 실패 {}건", progress.imported, progress.failed);
+        return new ImportPostResponse(progress.imported, progress.failed, progress.errors);
+    }
+
+    private void saveChunk(List<CreatePostRequest> chunk, long firstLine, long lastLine, Progress progress) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Post> posts = chunk.stream()
+                        .map(request -> Post.builder()
+                                .title(request.getTitle())
+                                .content(request.getContent())
+                                .build())
+                        .toList();
+                postRepository.saveAll(posts);
+                postChangePublisher.publishAll(posts.stream().map(Post::getPostId).toList(), PostChangeType.CREATED);
+                entityManager.flush();
+                entityManager.clear();  //가져오는 동안 엔티티가 쌓이지 않도록 묶음마다 비운다.
+            });
+            progress.imported += chunk.size();
+            importedCounter.increment(chunk.size());
+            log.debug("게시글 가져오기 진행 중: {}건 저장 ({}번째 줄까지)", progress.imported, lastLine);
+        } catch (RuntimeException e) {
+            log.warn("게시글 가져오기 묶음 저장 실패 ({} ~ {}번째 줄)", firstLine, lastLine, e);
+            //묶음 전체를 실패로 세고, 오류 항목은 묶음당 하나만 남긴다.
+            progress.error(firstLine, "묶음 저장 실패(" + firstLine + " ~ " + lastLine + "번째 줄, " + chunk.size() + "건): " + e.getMessage(), chunk.size());
+        }
+    }
+
+    private CreatePostRequest toRequest(String[] record, Format format) {
+        CreatePostRequest request;
+        if (format == Format.NDJSON) {
+            try {
+                request = reader.readValue(record[0]);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("JSON 형식이 올바르지 않습니다: " + e.getOriginalMessage());
+            }
+        } else {
+            if (record.length != 2) {
+                throw new IllegalArgumentException("CSV 항목은 title,content 2개여야 합니다. (" + record.length + "개)");
+            }
+            request = new CreatePostRequest(record[0], record[1]);
+        }
+        if (request == null || request.getTitle() == null || request.getTitle().isBlank()) {
+            throw new IllegalArgumentException("제목(title)이 비어 있습니다.");
+        }
+        return request;
+    }
+
+    //가져오기 진행 상황. 오류 목록은 maxErrors 개까지만 보관해서 잘못된 본문에도 메모리가 늘어나지 않게 한다.
+    private class Progress {
+        long imported;
+        long failed;
+        final List<ImportPostError> errors = new ArrayList<>();
+
+        void error(long line, String message, int count) {
+            failed += count;
+            failedCounter.increment(count);
+            if (errors.size() < maxErrors) {
+                errors.add(new ImportPostError(line, message));
+            }
+        }
+    }
+
+    //레코드가 max-record-length 를 넘었다. skipped 면 그 레코드만 버렸으므로 다음 레코드부터 계속 읽을 수 있다.
+    private static final class RecordTooLongException extends IllegalArgumentException {
+        final boolean skipped;
+
+        RecordTooLongException(int maxRecordLength, boolean skipped) {
+            super("레코드가 최대 길이(" + maxRecordLength + "자)를 넘었습니다." + (skipped ? "" : " (닫히지 않은 큰따옴표일 수 있어 가져오기를 멈춥니다)"));
+            this.skipped = skipped;
+        }
+    }
+
+    //본문에서 레코드를 하나씩 꺼낸다. 더 이상 없으면 null. line()은 마지막으로 꺼낸 레코드가 시작한 줄 번호.
+    private interface RecordReader {
+        String[] next() throws IOException;
+
+        long line();
+    }
+
+    //BufferedReader.readLine 은 줄 길이 제한이 없으므로 한 글자씩 읽으면서 maxRecordLength 까지만 모은다.
+    private static class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader in;
+        private final int maxRecordLength;
+        private long line;
+
+        NdjsonRecordReader(BufferedReader in, int maxRecordLength) {
+            this.in = in;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            StringBuilder text = new StringBuilder();
+            while (true) {
+                text.setLength(0);
+                boolean tooLong = false;
+                int c;
+                while ((c = in.read()) != -1 && c != '\n') {
+                    if (text.length() < maxRecordLength) {
+                        text.append((char) c);
+                    } else {
+                        tooLong = true;     //줄 끝까지 읽어서 버린다.
+                    }
+                }
+                if (c == -1 && text.isEmpty() && !tooLong) {
+                    return null;
+                }
+                line++;
+                if (tooLong) {
+                    throw new RecordTooLongException(maxRecordLength, true);
+                }
+                if (!text.isEmpty() && text.charAt(text.length() - 1) == '\r') {
+                    text.setLength(text.length() - 1);
+                }
+                if (!text.toString().isBlank()) {
+                    return new String[] {text.toString()};
+                }
+                if (c == -1) {
+                    return null;
+                }
+            }
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+    }
+
+    //RFC 4180 CSV. 큰따옴표로 감싼 값 안의 쉼표, 줄바꿈, ""(따옴표) 를 처리한다.
+    private static class CsvRecordReader implements RecordReader {
+        private final Reader in;
+        private final int maxRecordLength;
+        private long physicalLine = 1;
+        private long line;
+        private int pushedBack = -1;
+
+        CsvRecordReader(Reader in, int maxRecordLength) {
+            this.in = in;
+            this.maxRecordLength = maxRecordLength;
+        }
+
+        @Override
+        public String[] next() throws IOException {
+            int c = read();
+            while (c == '\r' || c == '\n') {    //빈 줄은 건너뛴다.
+                c = newLine(c);
+            }
+            if (c == -1) {
+                return null;
+            }
+            line = physicalLine;
+
+            List<String> fields = new ArrayList<>(2);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            int length = 0;
+            while (true) {
+                if (++length > maxRecordLength) {
+                    throw new RecordTooLongException(maxRecordLength, false);
+                }
+                if (quoted) {
+                    if (c == -1) {
+                        throw new IllegalArgumentException("큰따옴표가 닫히지 않았습니다.");
+                    }
+                    if (c == '"') {
+                        int next = read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            c = next;
+                            continue;
+                        }
+                    } else {
+                        if (c == '\n') {
+                            physicalLine++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\r' || c == '\n' || c == -1) {
+                    fields.add(field.toString());
+                    if (c != -1) {
+                        pushedBack = newLine(c);    //다음 레코드의 첫 문자
+                    }
+                    return fields.toArray(String[]::new);
+                } else {
+                    field.append((char) c);
+                }
+                c = read();
+            }
+        }
+
+        @Override
+        public long line() {
+            return line;
+        }
+
+        private int read() throws IOException {
+            if (pushedBack != -1) {
+                int c = pushedBack;
+                pushedBack = -1;
+                return c;
+            }
+            return in.read();
+        }
+
+        //줄바꿈(\n, \r\n, \r)을 소비하고 다음 문자를 돌려준다.
+        private int newLine(int c) throws IOException {
+            physicalLine++;
+            int next = read();
+            if (c == '\r' && next == '\n') {
+                next = read();
+            }
+            return next;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package org.example.ohgiraffers.board.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/** PostPurger
+ * 삭제 표시(Post.deleted)된 게시글을 실제로 지운다.
+ * 게시글 삭제 요청은 삭제 표시만 하므로, 행 삭제와 인덱스 정리는 여기서 요청과 상관없이 일정한 속도로 한다.
+ * interval(ms) 마다 batch-size 개씩만 지우므로(초당 최대 batch-size * 1000 / interval 행), 삭제가 몰려도 DB 부하는 이 속도를 넘지 않는다.
+ * 여러 인스턴스가 동시에 실행해도 같은 행을 두 번 지우지 않는다. (delete 조건에 deleted = true)
+ * Post 엔티티에는 삭제 표시된 행을 감추는 @Where 가 있으므로, 찾기와 지우기는 native SQL 로 한다. (PostRepository)
+ */
+@Slf4j
+@Component
+public class PostPurger {
+
+    private final PostRepository postRepository;
+
+    private final int batchSize;
+
+    private final Counter purged;
+
+    public PostPurger(PostRepository postRepository, MeterRegistry meterRegistry,
+                      @Value("${board.purge.batch-size:100}") int batchSize) {
+        this.postRepository = postRepository;
+        this.batchSize = batchSize;
+        this.purged = Counter.builder("board.post.purged").register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${board.purge.interval:1000}")
+    @Transactional
+    public void purge() {
+        List<Long> postIds = postRepository.findDeletedIds(PageRequest.of(0, batchSize));
+        if (postIds.isEmpty()) {
+            return;
+        }
+        int deleted = postRepository.purgeAllById(postIds);
+        purged.increment(deleted);
+        log.debug("삭제 표시된 게시글 {}건 삭제", deleted);
+    }
+}
@@ -3,15 +3,29 @@ package org.example.ohgiraffers.board.service;
 
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
 import lombok.RequiredArgsConstructor;
+import org.example.ohgiraffers.board.cache.PostCache;
+import org.example.ohgiraffers.board.cache.PostCountCache;
+import org.example.ohgiraffers.board.config.ReadWriteRoutingDataSource;
+import org.example.ohgiraffers.board.domain.converter.PostContentCodec;
 import org.example.ohgiraffers.board.domain.dto.*;
 import org.example.ohgiraffers.board.domain.entity.Post;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
 import org.example.ohgiraffers.board.repository.PostRepository;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 /** Service를 인터페이스와 구현체로 나누는 이유
  * 1. 다형성과 OCP 원칙을 지키기 위해
  * 인터페이스와 구현체가 나누어지면, 구현체는 외부로부터 독립되어, 구현체의 수정이나 확장이 자유로워진다.
@@ -35,8 +49,21 @@ import org.springframework.transaction.annotation.Transactional;
 
 public class PostService {  //게시물 관련 로직을 처리하는 서비스 클래스. 게시물 생성, 조회, 수정,삭제 기능 구현
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final int MAX_PREVIEW_LENGTH = PostContentCodec.PREVIEW_LENGTH;   //저장된 preview 컬럼의 길이
+
     private final PostRepository postRepository; //PostRepository는 데이터베이스에 접근하여 게시물에 관련된 작업을 수행하는 클래스.
 //private final: 클래스가 다른 곳에서 변경될 수 없는 상태를 유지.
+
+    private final PostCache postCache;  //단건 조회 결과를 보관하는 로컬 캐시
+
+    private final PostChangePublisher postChangePublisher;  //변경 로그 저장 + 변경 이벤트 발행 (캐시 무효화에 사용)
+
+    private final PostViewCounter postViewCounter;  //조회수를 메모리에서 모았다가 주기적으로 DB에 반영
+
+    private final PostCountCache postCountCache;    //전체 게시글 수 (목록 조회 시 count 쿼리 대신 사용)
+
     @Transactional //트랜잭션의 특성을 지원하기 위해 메서드나 클래스에 붙여 사용됨. 이를 통해 트랜잭션의 시작과 종료를 자동으로 처리 할 수 있음. 메서드 내에서 모든작업은 하나의 트랜잭션으로 묶이고 메서드 실행 도중 예외가 발생하면 이전 상태로 롤백.
     //트랜잭션: 데이터베이스에서 여러 작업이 하나로 묶여 원자적으로 실행되도록 하는 개념. (트랜잭션 안에 있는 모든 작업이 성공하거나 실패시 모두 함께 성공하거나 실패한다는 것을 의미)
     //어떤 작업 하나라도 실패시 이전의 상태로 롤백되어야 함.
@@ -48,6 +75,7 @@ public class PostService {  //게시물 관련 로직을 처리하는 서비스
                 .build();   //설정한 제목과 내용으로 게시물 객체를 완성해 반환.
 
         Post savePost = postRepository.save(post); //완성된 게시물 객체를 데이터베이스에 저장. postRepository는 데이터베이스에 접근하기 위한 객체.
+        postChangePublisher.publish(savePost.getPostId(), PostChangeType.CREATED);
 
         return new CreatePostResponse(savePost.getPostId(), savePost.getTitle(), savePost.getContent());
 //저장된 게시물의 아이디, 제목, '내용을 CreatePostResponse'객체를 생성해 반환. 이 응답을 클라이언트에게 새로 생성된 게시물에 대한 정보를 전달.
@@ -55,41 +83,101 @@ public class PostService {  //게시물 관련 로직을 처리하는 서비스
     }
 
 
+    //캐시에 있으면 트랜잭션(커넥션) 없이 바로 반환하기 위해 SUPPORTS로 설정. DB 조회는 한 번의 select라 트랜잭션이 없어도 된다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public ReadPostResponse readPostById(Long postId) { //특정 게시물 ID를 사용하여 게시물을 읽어오는 메서드를 정의
 
-        Post foundPost = postRepository.findById(postId) //postRepository를 사용해 주어진 id에 해당하는 게시물을 데이터베이스에서 찾는다.
-                    .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시물이 없습니다.")); //orElseThrow() = Optional객체가 비어있을 때 실행할 동작을 정의, 특정 예외를 발생시키는 역할.
-//만약 게시물을 찾지 못하면, 'EntityNotFoundException'을 (람다표현식) 던져서 해당 게시물이 없음을 나타냄. Optional(값이 있을 수도/없을 수도 있는 컨테이너 객체)객체가 비어있을 때 실행.
-        //요약: Optional 객체가 비어있을 때 "해당 postId로 조회된 게시물이 없습니다" 메세지를 포함한 EntityNotFoundException을 발생시키는 역할을 한다.
-        return new ReadPostResponse(foundPost.getPostId(), foundPost.getTitle(), foundPost.getContent());
+        long sequence = postViewCounter.beginRead();
+        ReadPostResponse response = loadPost(postId, sequence);
+        postViewCounter.increment(postId);  //DB 쓰기 없이 메모리에서만 증가 (없는 게시글은 세지 않도록 읽은 뒤에)
+        ReadPostResponse result = withPendingViews(response);
+        while (postViewCounter.flushedSince(sequence)) {   //저장된 조회수와 pending 사이에 flush 가 끼었으면 다시 읽는다. (PostViewCounter 참고)
+            sequence = postViewCounter.beginRead();
+            result = withPendingViews(loadPost(postId, sequence));
+        }
+        return result;
     }//찾은 게시물의 정보를 사용하여 ReadPostResponse객체를 생성하고 반환. 이 응답을 클라이언트에 전달.
     //요약: 이 메서드는 주어진 게시물ID를 사용하여 해당ID에 해당하는 게시물을 읽어오는 기능을 수행.
     //게시물이 데이터베이스에 없으면 'EntityNotFoundException'을 예외 발생, 있으면 데이터베이스에서 게시물을 가져와 'ReadPostResponse객체로 만들어 반환. 이 정보를 클라이언트에 전달.
+    //직렬화된 응답 캐시(PostResponseCache)로 응답할 때 조회수를 세고, X-View-Count 헤더에 쓸 현재 조회수를 반환한다.
+    //캐시(PostCache)에 있으면 DB를 읽지 않고, 없으면 content 를 제외하고 조회수만 읽는다.
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public long recordView(Long postId) {
+        postViewCounter.increment(postId);
+        return readPostVersion(postId).getViewCount();
+    }
+
+    /** 게시글 버전 조회 (If-None-Match 확인용)
+     * 캐시에 있으면 캐시의 버전을, 없으면 content를 제외하고 버전과 조회수만 DB에서 읽는다.
+     * 304 응답에도 현재 조회수를 헤더로 내려주기 위해 아직 반영되지 않은 조회수를 더한다.
+     */
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public PostVersionResponse readPostVersion(Long postId) {
+
+        while (true) {
+            long sequence = postViewCounter.beginRead();
+            PostVersionResponse stored = loadPostVersion(postId);
+            long viewCount = stored.getViewCount() + postViewCounter.pending(postId);
+            if (!postViewCounter.flushedSince(sequence)) {  //저장된 조회수와 pending 사이에 flush 가 끼었으면 다시 읽는다.
+                return new PostVersionResponse(stored.getVersion(), viewCount);
+            }
+        }
+    }
+
+    //캐시에 있으면 캐시의 버전/조회수를, 없으면 primary 에서 읽는다. (replica 는 flush 로 더한 조회수가 아직 없을 수 있어 pending 과 맞지 않는다)
+    private PostVersionResponse loadPostVersion(Long postId) {
+        ReadPostResponse cached = postCache.get(postId);
+        if (cached != null && cached.getVersion() != null) {
+            return new PostVersionResponse(cached.getVersion(), cached.getViewCount());
+        }
+        return ReadWriteRoutingDataSource.onPrimary(() -> postRepository.findVersionResponseById(postId))
+                .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시물이 없습니다."));
+    }
+
     @Transactional
-    public UpdatePostResponse updatePost(Long postId, UpdatePostRequest request) { //메서드: 게시물을 업데이트하는데 사용. 게시물의 id와 업데이트에 필요한 정보가 제공. 업데이트된 게시물의 정보를 포함한 응답을 반환.
+    public UpdatePostResponse updatePost(Long postId, UpdatePostRequest request) {
+        return updatePost(postId, request, null);
+    }
 
-        Post foundPost = postRepository.findById(postId)    //주어진id로 데이터베이스에서 해당 게시물을 찾는다.
-                .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다."));
-// 만약 게시물을 못 찾으면, EntityNotFoundException을 던져서 해당 게시물이 없음을 나타냄.
+    /** If-Match 조건부 수정
+     * expectedVersion이 null이 아니면, 현재 버전과 같을 때만 수정한다. 다르면 OptimisticLockException(412)
+     * 게시글을 먼저 조회하지 않고 update 문 하나로 수정한다. (조회 + Dirty Checking 으로 두 번 왕복하던 것을 한 번으로)
+     * 버전 조건이 update 문의 where 절에 들어가므로 동시에 수정해도 하나만 성공한다.
+     * 응답의 title, content는 요청 값 그대로이고, 새 버전은 If-Match가 있을 때만 알 수 있다. (없으면 ETag 없이 응답)
+     */
+    @Transactional
+    public UpdatePostResponse updatePost(Long postId, UpdatePostRequest request, Long expectedVersion) { //메서드: 게시물을 업데이트하는데 사용. 게시물의 id와 업데이트에 필요한 정보가 제공. 업데이트된 게시물의 정보를 포함한 응답을 반환.
 
-        //Dirty Checking
-        foundPost.update(request.getTitle(), request.getContent());
-        //게시물 객체의 update()메서드를 호출하여 제목과 내용을 업데이트. 이 메서드는 게시물 객체의 상태를 변경.(Dirty Checking과정)
+        int updated = expectedVersion == null
+                ? postRepository.updateTitleAndContent(postId, request.getTitle(), request.getContent(), PostContentCodec.preview(request.getContent()))
+                : postRepository.updateTitleAndContentIfVersion(postId, request.getTitle(), request.getContent(),
+                        PostContentCodec.preview(request.getContent()), expectedVersion);
 
-        return new UpdatePostResponse(foundPost.getPostId(), foundPost.getTitle(), foundPost.getContent());
+        if (updated == 0) {     //변경된 행이 없으면, 없는 게시글이거나 버전이 다른 경우. (실패했을 때만 한 번 더 조회한다)
+            Long currentVersion = expectedVersion == null ? null : postRepository.findVersionById(postId).orElse(null);
+            if (currentVersion != null) {
+                throw new OptimisticLockException("게시글이 이미 수정되었습니다. (현재 버전: " + currentVersion + ")");
+            }
+            throw new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다.");
+        }
+        postChangePublisher.publish(postId, PostChangeType.UPDATED);   //커밋 이후 모든 인스턴스의 캐시에서 지워진다.
+
+        return new UpdatePostResponse(postId, request.getTitle(), request.getContent(), expectedVersion == null ? null : expectedVersion + 1);
     //업데이트된 게시물의 정보를 사용하여 UpdatePostResponse 객체를 생성하고 반환. 이 객체에는 업데이트된 게시물의 정보가 포함되어 있음.
-    } //요약: 특정 id를 사용하여 게시물을 업데이트, 주어진 id로 데이터베이스에서 게시물을 찾는데 없다면, 예외를 발생. 있다면 새로운 정보로 게시물을 업데이트하고, 업데이트된 게시물의 정보를 반환.
+    } //요약: 특정 id의 게시물을 update 문 하나로 수정하고, 수정된 행이 없으면 예외를 발생. 있다면 수정된 게시물의 정보를 반환.
 
     @Transactional  //특정id를 사용해 게시물을  삭제하는 기능을 구현.
     public DeletePostResponse deletePost(Long postId) {
 //메서드: 게시물을 삭제하는 역할, 삭제할 게시물의 id가 매개변수(Long postId)로 전달받아 해당하는 게시물을 삭제.
 
-            Post foundPost = postRepository.findById(postId)//주어진 id로 데이터베이스에서 해당 게시물을 찾는다.
-                    .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다."));
+        int deleted = postRepository.markDeletedById(postId);   //조회 없이 update 문 하나로 삭제 표시만 한다. (행은 PostPurger 가 나중에 지운다) 표시된 행 수를 반환한다.
+        if (deleted == 0) {
+            throw new EntityNotFoundException("해당 postId로 조회된 게시글이 없습니다.");
+        }
     //게시물이 없다면, EntityNotFoundException을 발생 (없음을 나타냄)
-        postRepository.delete(foundPost);   //찾은 게시물을 데이터베이스에서 삭제.
+        postChangePublisher.publish(postId, PostChangeType.DELETED);
 
-        return new DeletePostResponse(foundPost.getPostId());
+        return new DeletePostResponse(postId);
         }   //삭제된 게시물의 id를 사용해 DeletePostResponse(응답 객체: 삭제된 게시물의 id와 같은 정보를 포함)를 생성하고 반환. 클라이언트에게 삭제 작업이 완룐되었음을 알려주는 역할.
 
 
@@ -99,10 +187,10 @@ public class PostService {  //게시물 관련 로직을 처리하는 서비스
         //Pageable 객체를 매개변수로 받아서(메소드 호출 시, 어떤 페이지를 보여줄지에 대한 정보를 Pageable 객체에 담아서 전달하는뜻) 페이지 정보를 설정할 수 있다.
 
 
-        Page<Post> postsPage = postRepository.findAll(pageable);
-        //postRepository를 사용하여 데이터베이스에 모든 게시물을 읽어온다. 그리고 Page 객체에 저장. (Pageable 객체에 설정된 페이지 정보를 읽어옴)
+        Slice<ReadPostResponse> postsSlice = postRepository.findResponses(pageable);
+        //postRepository를 사용하여 데이터베이스에서 요청한 페이지의 게시물을 읽어온다. count 쿼리는 실행하지 않고, 전체 개수는 메모리에 보관된 값을 사용한다.
 
-        return postsPage.map(post -> new ReadPostResponse(post.getPostId(), post.getTitle(), post.getContent()));
+        return toPage(postsSlice);
         //읽어온 게시물을 ReadPostResponse 객체로 변환 (게시물의 id, 제목, 내용을 포함). 이것들을 모두 포함한 페이지를 반환.
         //"return postsPage.map(post ->" postsPage에 저장된 각 게시물에 대해 작업을 수행. "map" 메서드는 각각 요서에 대해 특정 작업을 수행, 그 결과를 새로운 스트림으로 반환.
         // 이런 경우, postsPage에 저장된 각 게시물을 ReadPostResponse 객체로 변환하고
@@ -110,6 +198,127 @@ public class PostService {  //게시물 관련 로직을 처리하는 서비스
         //요약: 각 게시물을 읽어와서, 그 정보를 이용해 새로운 ReadPostResponse 객체를 만들고, 새로운 스트림으로 반환. 이 과정을 통해 각 게시물을 ReadPostResponse형식으로 변환하여 반환하게 된다.
 
     }
+
+    /** 요약 목록 조회
+     * postId, title(과 previewLength > 0 이면 저장할 때 만들어 둔 preview 컬럼)만 DB에서 읽어 PostSummaryResponse로 반환한다.
+     * 압축된 content 는 읽지 않는다.
+     */
+    public Page<PostSummaryResponse> readAllPostSummaries(Pageable pageable, int previewLength) {
+
+        if (previewLength < 0 || previewLength > MAX_PREVIEW_LENGTH) {
+            throw new IllegalArgumentException("previewLength는 0 이상 " + MAX_PREVIEW_LENGTH + " 이하여야 합니다.");
+        }
+        if (previewLength == 0) {
+            return toPage(postRepository.findAllSummaries(pageable));
+        }
+        return toPage(postRepository.findAllSummariesWithPreview(pageable)
+                .map(summary -> new PostSummaryResponse(summary.getPostId(), summary.getTitle(), preview(summary.getPreview(), previewLength))));
+    }
+
+    //전체 개수가 필요 없는 목록 조회. count 없이 다음 페이지가 있는지(hasNext)만 알려준다.
+    public Slice<ReadPostResponse> readPostSlice(Pageable pageable) {
+        return postRepository.findResponses(pageable);
+    }
+
+    /** 커서 기반 목록 조회
+     * postId 내림차순(최근 글 먼저)으로, cursor가 가리키는 postId 다음부터 size개를 읽는다.
+     * size + 1개를 읽어서 한 개가 더 있으면 그 방향으로 페이지가 더 있다고 판단한다.
+     */
+    public CursorPageResponse<ReadPostResponse> readPostsByCursor(String cursor, int size) {
+
+        if (size < 1 || size > MAX_CURSOR_PAGE_SIZE) {
+            throw new IllegalArgumentException("size는 1 이상 " + MAX_CURSOR_PAGE_SIZE + " 이하여야 합니다.");
+        }
+        PageRequest limit = PageRequest.of(0, size + 1);
+        PostCursor postCursor = cursor == null || cursor.isBlank() ? null : PostCursor.decode(cursor);
+
+        List<ReadPostResponse> content;
+        boolean hasNext;
+        boolean hasPrev;
+        if (postCursor == null) {   //첫 페이지
+            content = postRepository.findLatestResponses(limit);
+            hasNext = content.size() > size;
+            hasPrev = false;
+            content = content.subList(0, Math.min(size, content.size()));
+        } else if (postCursor.getDirection() == PostCursor.Direction.NEXT) {
+            content = postRepository.findResponsesBefore(postCursor.getPostId(), limit);
+            hasNext = content.size() > size;
+            hasPrev = true;
+            content = content.subList(0, Math.min(size, content.size()));
+        } else {    //이전 페이지: 기준보다 큰 postId를 오름차순으로 읽은 뒤 뒤집는다.
+            content = postRepository.findResponsesAfter(postCursor.getPostId(), limit);
+            hasPrev = content.size() > size;
+            hasNext = true;
+            content = new ArrayList<>(content.subList(0, Math.min(size, content.size())));
+            Collections.reverse(content);
+        }
+
+        String nextCursor = hasNext && !content.isEmpty()
+                ? new PostCursor(PostCursor.Direction.NEXT, content.get(content.size() - 1).getPostId()).encode() : null;
+        String prevCursor = hasPrev && !content.isEmpty()
+                ? new PostCursor(PostCursor.Direction.PREV, content.get(0).getPostId()).encode() : null;
+
+        return new CursorPageResponse<>(content, content.size(), nextCursor, prevCursor);
+    }
+
+    /** Slice + 메모리의 전체 개수로 Page 를 만든다.
+     * 마지막 페이지면 읽은 개수로 전체 개수를 정확히 알 수 있으므로 그 값을 쓴다.
+     * 그 외에는 메모리의 개수를 쓰되, 잠시 어긋나 있어도 다음 페이지가 있다는 사실과 모순되지 않게 보정한다.
+     */
+    private <T> Page<T> toPage(Slice<T> slice) {
+        Pageable pageable = slice.getPageable();
+        long read = (pageable.isPaged() ? pageable.getOffset() : 0) + slice.getNumberOfElements();
+        long total;
+        if (slice.hasNext()) {
+            total = Math.max(postCountCache.count(), read + 1);
+        } else if (slice.hasContent() || !slice.hasPrevious()) {    //마지막 페이지
+            total = read;
+        } else {    //마지막 페이지를 넘어선 빈 페이지
+            total = postCountCache.count();
+        }
+        return new PageImpl<>(slice.getContent(), pageable, total);
+    }
+
+    private static String preview(String content, int length) {
+        if (content == null || content.length() <= length) {
+            return content;
+        }
+        int end = Character.isHighSurrogate(content.charAt(length - 1)) ? length - 1 : length;    //이모지 등 surrogate pair 를 반으로 자르지 않는다.
+        return content.substring(0, end);
+    }
+
+    /** 캐시에 있으면 캐시에서, 없으면 DB에서 읽어 캐시에 넣는다.
+     * 캐시에 넣기 전에 flush 가 지나가면 flush 가 캐시에 더한 조회수(addViews)를 놓친 옛 값이 캐시에 남으므로,
+     * 넣은 뒤 sequence 이후 flush 가 있었으면 다시 뺀다. (호출한 쪽은 flushedSince 로 다시 읽는다)
+     */
+    private ReadPostResponse loadPost(Long postId, long sequence) {
+        ReadPostResponse cached = postCache.get(postId);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = postCache.generation();  //조회 도중 수정/삭제가 일어나면 캐시에 넣지 않기 위해 기억해둔다.
+
+        //캐시에 넣어 모든 클라이언트에게 보여줄 값이므로 replica 가 아닌 primary 에서 읽는다. (replica 는 방금 무효화된 옛 값을 줄 수 있다)
+        ReadPostResponse response = ReadWriteRoutingDataSource.onPrimary(() -> postRepository.findResponseById(postId)) //postRepository를 사용해 주어진 id에 해당하는 게시물을 데이터베이스에서 찾는다. (content까지 쿼리 한 번으로)
+                    .orElseThrow(() -> new EntityNotFoundException("해당 postId로 조회된 게시물이 없습니다.")); //orElseThrow() = Optional객체가 비어있을 때 실행할 동작을 정의, 특정 예외를 발생시키는 역할.
+//만약 게시물을 찾지 못하면, 'EntityNotFoundException'을 (람다표현식) 던져서 해당 게시물이 없음을 나타냄. Optional(값이 있을 수도/없을 수도 있는 컨테이너 객체)객체가 비어있을 때 실행.
+        //요약: Optional 객체가 비어있을 때 "해당 postId로 조회된 게시물이 없습니다" 메세지를 포함한 EntityNotFoundException을 발생시키는 역할을 한다.
+        postCache.put(postId, response, generation);
+        if (postViewCounter.flushedSince(sequence)) {
+            postCache.evict(postId);
+        }
+        return response;
+    }
+
+    //캐시/DB의 조회수에 아직 DB에 반영되지 않은 조회수를 더한다. (추가 쿼리 없음)
+    private ReadPostResponse withPendingViews(ReadPostResponse response) {
+        long pending = postViewCounter.pending(response.getPostId());
+        if (pending == 0) {
+            return response;
+        }
+        return new ReadPostResponse(response.getPostId(), response.getTitle(), response.getContent(),
+                response.getVersion(), response.getViewCount() + pending);
+    }
 }   //전체요약: 페이지네이션된 형태로 모든 게시물을 읽어오고, 각각의 게시물을 ReadPostResponse 객체로 변환=페이지 단위로 반환하는 역할.
     //"Pagination" 한 번에 많은 양의 데이터를 처리할때 유용-> 데이터를 조각내어 효율적으로 처리할 수 있음.
 
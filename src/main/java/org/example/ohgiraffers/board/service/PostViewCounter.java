@@ -0,0 +1,132 @@
+package org.example.ohgiraffers.board.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.example.ohgiraffers.board.cache.PostCache;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/** PostViewCounter
+ * 게시글 조회수를 메모리에서 모았다가 주기적으로 DB에 한꺼번에 반영한다. (write-behind)
+ * 조회할 때마다 update 하면 가장 많이 호출되는 단건 조회가 행 잠금을 잡는 쓰기가 되기 때문이다.
+ *
+ * 게시글마다 LongAdder 를 두고 증가시킨다. LongAdder 는 여러 스레드가 동시에 증가시켜도 내부 셀을 나눠 쓰기 때문에 잠금이나 CAS 경합이 거의 없다.
+ * flush 할 때는 지금까지 모은 맵을 새 맵으로 바꾸고(swap), 바꿔낸 맵의 합계를 update 문 batch 로 보낸다.
+ * swap 직전에 옛 맵의 LongAdder 를 받아간 요청이 swap 이후에 증가시킬 수 있으므로, 옛 맵은 한 번 더 보관했다가 다음 flush 때 남은 값을 마저 반영한다.
+ *
+ * 보여줄 조회수는 저장된 값(캐시/DB) + pending() 이다. flush 는 pending 에서 빼서 저장된 값으로 옮기므로, 두 값을 따로 읽는 사이에 flush 가 끼면
+ * 같은 조회수를 두 번 세거나(pending 을 먼저 읽은 경우) 빠뜨린다(저장된 값을 먼저 읽은 경우).
+ * 그래서 flush 는 시작할 때와 끝날 때 flushSequence 를 하나씩 올리고(진행 중이면 홀수, seqlock),
+ * 읽는 쪽은 beginRead() 로 순번을 받아 두 값을 읽은 뒤 flushedSince() 로 그 사이에 flush 가 있었는지 확인해서 있었으면 다시 읽는다.
+ *
+ * 조회수는 인스턴스별로 최대 flush 주기만큼 늦게 DB에 반영되고, 종료(@PreDestroy) 시 남은 값을 반영한다.
+ * (비정상 종료 시에는 마지막 주기의 조회수가 유실될 수 있다)
+ */
+@Slf4j
+@Component
+public class PostViewCounter {
+
+    private static final String UPDATE_SQL = "update post set view_count = view_count + ? where post_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final PostCache postCache;
+
+    private final AtomicReference<Map<Long, LongAdder>> current = new AtomicReference<>(new ConcurrentHashMap<>());
+
+    private volatile Map<Long, LongAdder> draining = Map.of();  //직전 flush 에서 바꿔낸 맵 (늦게 도착한 증가분 확인용)
+
+    private final AtomicLong flushSequence = new AtomicLong();  //flush 가 진행 중이면 홀수
+
+    public PostViewCounter(JdbcTemplate jdbcTemplate, PostCache postCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.postCache = postCache;
+    }
+
+    public void increment(Long postId) {
+        current.get().computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    //아직 DB에 반영되지 않은 조회수
+    public long pending(Long postId) {
+        LongAdder adder = current.get().get(postId);
+        LongAdder late = draining.get(postId);
+        return (adder == null ? 0 : adder.sum()) + (late == null ? 0 : late.sum());
+    }
+
+    /** 저장된 조회수와 pending() 을 읽기 전에 부른다.
+     * flush 가 진행 중이면(홀수) 끝날 때까지 기다린다. flush 는 synchronized 이므로 같은 모니터를 잡으면 끝난 뒤의 순번을 받는다.
+     */
+    public long beginRead() {
+        long sequence = flushSequence.get();
+        if ((sequence & 1) == 0) {
+            return sequence;
+        }
+        synchronized (this) {
+            return flushSequence.get();
+        }
+    }
+
+    //beginRead() 이후 flush 가 시작됐으면 true. 그 사이에 읽은 저장된 조회수와 pending() 은 서로 다른 시점의 값일 수 있다.
+    public boolean flushedSince(long sequence) {
+        return flushSequence.get() != sequence;
+    }
+
+    @Scheduled(fixedDelayString = "${board.view-count.flush-interval:1000}")
+    public synchronized void flush() {
+        flushSequence.incrementAndGet();
+        try {
+            drain();
+        } finally {
+            flushSequence.incrementAndGet();
+        }
+    }
+
+    //pending 에서 빼서 DB 와 캐시에 더한다. 여기서 바뀌는 값은 모두 flushSequence 가 홀수인 동안에만 바뀐다.
+    private void drain() {
+        Map<Long, LongAdder> previous = draining;
+        Map<Long, LongAdder> swapped = current.getAndSet(new ConcurrentHashMap<>());
+
+        List<Object[]> deltas = new ArrayList<>(swapped.size() + previous.size());
+        collect(previous, deltas);
+        collect(swapped, deltas);
+        draining = swapped;
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, deltas);
+        } catch (RuntimeException e) {
+            log.warn("조회수 {}건 반영 실패, 다음 주기에 다시 시도합니다.", deltas.size(), e);
+            deltas.forEach(delta -> current.get().computeIfAbsent((Long) delta[1], id -> new LongAdder()).add((Long) delta[0]));
+            return;
+        }
+        deltas.forEach(delta -> postCache.addViews((Long) delta[1], (Long) delta[0]));
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+        flush();    //draining 에 남은 값까지 반영
+    }
+
+    //sumThenReset 은 동시에 들어온 증가분을 잃지 않고 0으로 되돌린다.
+    private void collect(Map<Long, LongAdder> counters, List<Object[]> deltas) {
+        counters.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                deltas.add(new Object[] {delta, postId});
+            }
+        });
+    }
+}
@@ -0,0 +1,87 @@
+package org.example.ohgiraffers.board.admission;
+
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//토큰 버킷(TokenBucket)과 동시 처리 상한(AdaptiveConcurrencyLimit) 단위 테스트
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long THRESHOLD = TimeUnit.MILLISECONDS.toNanos(100);
+
+    @Test
+    @DisplayName("burst 개까지 바로 허용하고, 이후에는 rate 에 맞춰 토큰이 채워지는지 테스트")
+    void token_bucket_refills_at_rate() {
+
+        //given: 초당 10개(100ms 에 하나), 최대 3개
+        TokenBucket bucket = new TokenBucket(10, 3, 0);
+
+        //when & then
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isZero();
+        assertThat(bucket.tryAcquire(0)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));    //100ms 뒤에 다음 토큰
+        assertThat(bucket.tryAcquire(TimeUnit.MILLISECONDS.toNanos(100))).isZero();
+    }
+
+    @Test
+    @DisplayName("상한만큼만 동시에 허용하는지 테스트")
+    void rejects_over_limit() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(2, 1, 10, THRESHOLD, 0.5);
+
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isTrue();
+        assertThat(limit.tryAcquire()).isFalse();
+
+        limit.release(0, false);
+        assertThat(limit.tryAcquire()).isTrue();
+    }
+
+    @Test
+    @DisplayName("느린 응답이나 오류에는 상한을 곱으로 줄이고, 빠른 응답에는 조금씩 늘리는지 테스트")
+    void aimd_adjusts_limit() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(8, 2, 10, THRESHOLD, 0.5);
+
+        //느린 응답: 8 -> 4
+        limit.tryAcquire();
+        limit.release(THRESHOLD + 1, false);
+        assertThat(limit.getLimit()).isEqualTo(4);
+
+        //오류: 4 -> 2, 더 줄어도 min-limit(2) 아래로는 내려가지 않는다.
+        limit.tryAcquire();
+        limit.release(0, true);
+        limit.tryAcquire();
+        limit.release(0, true);
+        assertThat(limit.getLimit()).isEqualTo(2);
+
+        //상한을 다 쓰는 동안 빠른 응답이 상한 수만큼 오면 +1
+        for (int i = 0; i < 2; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release(0, false);
+            limit.release(0, false);
+        }
+        assertThat(limit.getLimit()).isEqualTo(3);
+    }
+
+    @Test
+    @DisplayName("여유가 있을 때(부하가 적을 때)는 상한을 늘리지 않는지 테스트")
+    void does_not_grow_when_idle() {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(10, 1, 100, THRESHOLD, 0.5);
+
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.release(0, false);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+        assertThat(limit.getInFlight()).isZero();
+    }
+}
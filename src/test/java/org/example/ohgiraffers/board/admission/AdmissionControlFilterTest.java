@@ -0,0 +1,155 @@
+package org.example.ohgiraffers.board.admission;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.example.ohgiraffers.board.admission.AdmissionControlFilter.RequestClass;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//요청 수락/거절(AdmissionControlFilter) 테스트. 시간은 직접 움직인다.
+public class AdmissionControlFilterTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private AdaptiveConcurrencyLimit readLimit;
+
+    private AdaptiveConcurrencyLimit writeLimit;
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    void setup() {
+        readLimit = new AdaptiveConcurrencyLimit(1, 1, 10, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+        writeLimit = new AdaptiveConcurrencyLimit(1, 1, 10, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+        filter = new AdmissionControlFilter(Map.of(RequestClass.READ, readLimit, RequestClass.WRITE, writeLimit),
+                1, 2, "X-Forwarded-For", 2, Duration.ofMinutes(1), Duration.ofSeconds(3),
+                new ObjectMapper(), new SimpleMeterRegistry(), clock::get);
+    }
+
+    //프록시 두 개를 거친 요청: 바깥 프록시가 client 를, 안쪽 프록시가 바깥 프록시(10.0.0.1)를 붙인다.
+    private MockHttpServletResponse perform(String method, String client, FilterChain chain) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/v1/posts");
+        request.addHeader("X-Forwarded-For", client + ", 10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    @Test
+    @DisplayName("클라이언트별 burst 를 넘으면 429 와 Retry-After 를 응답하는지 테스트")
+    void rate_limited_per_client() throws Exception {
+
+        assertThat(perform("GET", "1.1.1.1", new MockFilterChain()).getStatus()).isEqualTo(200);
+        assertThat(perform("GET", "1.1.1.1", new MockFilterChain()).getStatus()).isEqualTo(200);
+
+        MockHttpServletResponse rejected = perform("GET", "1.1.1.1", new MockFilterChain());
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("1");
+        assertThat(rejected.getContentType()).isEqualTo("application/problem+json");
+
+        //다른 클라이언트는 영향을 받지 않는다.
+        assertThat(perform("GET", "2.2.2.2", new MockFilterChain()).getStatus()).isEqualTo(200);
+
+        //1초 뒤에는 토큰이 하나 채워진다.
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        assertThat(perform("GET", "1.1.1.1", new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("X-Forwarded-For 앞쪽에 임의의 주소를 넣어도 믿을 수 있는 프록시가 붙인 주소로 구분하는지 테스트")
+    void spoofed_forwarded_for_is_ignored() {
+
+        MockHttpServletRequest spoofed = new MockHttpServletRequest("GET", "/api/v1/posts");
+        spoofed.setRemoteAddr("10.0.0.2");
+        spoofed.addHeader("X-Forwarded-For", "9.9.9.9, 1.1.1.1, 10.0.0.1");
+        assertThat(filter.clientKey(spoofed)).isEqualTo("1.1.1.1");
+
+        //항목이 프록시 수보다 적으면 프록시를 거치지 않은 요청이므로 접속 IP 로 구분한다.
+        MockHttpServletRequest direct = new MockHttpServletRequest("GET", "/api/v1/posts");
+        direct.setRemoteAddr("3.3.3.3");
+        direct.addHeader("X-Forwarded-For", "9.9.9.9");
+        assertThat(filter.clientKey(direct)).isEqualTo("3.3.3.3");
+    }
+
+    @Test
+    @DisplayName("동시 처리 상한을 넘으면 기다리지 않고 503 을 응답하고, 읽기와 쓰기는 따로 제한하는지 테스트")
+    void overloaded_per_request_class() throws Exception {
+
+        MockHttpServletResponse[] inner = new MockHttpServletResponse[2];
+
+        //읽기 요청 하나가 처리되는 도중에 같은 종류의 요청과 쓰기 요청이 들어온다.
+        perform("GET", "1.1.1.1", (request, response) -> {
+            inner[0] = perform("GET", "2.2.2.2", new MockFilterChain());
+            inner[1] = perform("POST", "3.3.3.3", new MockFilterChain());
+        });
+
+        assertThat(inner[0].getStatus()).isEqualTo(503);
+        assertThat(inner[0].getHeader("Retry-After")).isEqualTo("3");
+        assertThat(inner[1].getStatus()).isEqualTo(200);
+        assertThat(readLimit.getInFlight()).isZero();
+        assertThat(writeLimit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("느린 요청이 끝나면 해당 종류의 상한이 줄어드는지 테스트")
+    void slow_request_shrinks_limit() throws Exception {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+        filter = new AdmissionControlFilter(Map.of(RequestClass.READ, limit, RequestClass.WRITE, writeLimit),
+                100, 100, null, 1, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                new ObjectMapper(), new SimpleMeterRegistry(), clock::get);
+
+        perform("GET", "1.1.1.1", (request, response) -> clock.addAndGet(TimeUnit.SECONDS.toNanos(1)));
+
+        assertThat(limit.getLimit()).isEqualTo(2);
+        assertThat(writeLimit.getLimit()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("일괄 처리 요청(BULK_ATTRIBUTE)은 오래 걸려도 쓰기 상한을 줄이지 않는지 테스트")
+    void slow_bulk_request_keeps_limit() throws Exception {
+
+        AdaptiveConcurrencyLimit limit = new AdaptiveConcurrencyLimit(4, 1, 10, TimeUnit.MILLISECONDS.toNanos(100), 0.5);
+        filter = new AdmissionControlFilter(Map.of(RequestClass.READ, readLimit, RequestClass.WRITE, limit),
+                100, 100, null, 1, Duration.ofMinutes(1), Duration.ofSeconds(1),
+                new ObjectMapper(), new SimpleMeterRegistry(), clock::get);
+
+        perform("POST", "1.1.1.1", (request, response) -> {
+            request.setAttribute(AdmissionControlFilter.BULK_ATTRIBUTE, true);
+            clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        });
+
+        assertThat(limit.getLimit()).isEqualTo(4);
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("계속 열려 있는 비동기 응답(SSE 구독)은 비동기가 시작되면 바로 자리를 돌려주는지 테스트")
+    void long_lived_async_releases_immediately() throws Exception {
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/posts/feed");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(AdmissionControlFilter.LONG_LIVED_ATTRIBUTE, true);
+            req.startAsync();
+        });
+
+        assertThat(readLimit.getInFlight()).isZero();
+        assertThat(perform("GET", "2.2.2.2", new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+}
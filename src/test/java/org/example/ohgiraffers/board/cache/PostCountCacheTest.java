@@ -0,0 +1,73 @@
+package org.example.ohgiraffers.board.cache;
+
+
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+//전체 게시글 수 캐시(PostCountCache) 단위 테스트
+@ExtendWith(MockitoExtension.class)
+public class PostCountCacheTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private PostCountCache postCountCache;
+
+    @BeforeEach
+    void setup() {
+        postCountCache = new PostCountCache(postRepository);
+    }
+
+    @Test
+    @DisplayName("처음 한 번만 DB에서 세고, 이후에는 생성/삭제 이벤트로 개수를 맞추는지 테스트")
+    void count_adjusted_by_events() {
+
+        //given
+        given(postRepository.countLive()).willReturn(10L);
+
+        //when
+        long first = postCountCache.count();
+        postCountCache.onPostChanged(new PostChangedEvent(1L, PostChangeType.CREATED, false));
+        postCountCache.onPostChanged(new PostChangedEvent(2L, PostChangeType.CREATED, true));  //다른 인스턴스에서 생성
+        postCountCache.onPostChanged(new PostChangedEvent(3L, PostChangeType.DELETED, false));
+        postCountCache.onPostChanged(new PostChangedEvent(4L, PostChangeType.UPDATED, false)); //수정은 개수와 무관
+
+        //then
+        assertThat(first).isEqualTo(10);
+        assertThat(postCountCache.count()).isEqualTo(11);
+        verify(postRepository, times(1)).countLive();
+        verifyNoMoreInteractions(postRepository);  //삭제 표시된 게시글까지 세는 count()로 돌아가면 실패한다.
+    }
+
+    @Test
+    @DisplayName("다시 셀 때 DB 값으로 맞추되, 세는 도중 들어온 이벤트는 잃지 않는지 테스트")
+    void reconcile_keeps_concurrent_changes() {
+
+        //given: 이벤트로 3이 되었지만 DB에는 5개가 있고, count 쿼리 도중에 게시글 하나가 더 생성된다.
+        given(postRepository.countLive()).willReturn(2L).willAnswer(invocation -> {
+            postCountCache.onPostChanged(new PostChangedEvent(9L, PostChangeType.CREATED, false));
+            return 5L;
+        });
+        postCountCache.count();
+        postCountCache.onPostChanged(new PostChangedEvent(1L, PostChangeType.CREATED, false));
+
+        //when
+        postCountCache.reconcile();
+
+        //then: count 쿼리는 도중의 생성을 포함하지 않았다고 보고 1을 더한다. (다음 주기에 다시 맞춰진다)
+        assertThat(postCountCache.count()).isEqualTo(6);
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.ohgiraffers.board.config;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.verify;
+
+//JDBC 동시 실행 수 제한(ConcurrencyLimitedDataSource) 테스트. 한도 1, 대기 100ms 로 허가를 얻고 돌려주는 시점을 확인한다.
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitedDataSourceTest {
+
+    @Mock
+    private DataSource target;
+
+    @Mock
+    private Connection connection;
+
+    private ConcurrencyLimitedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new ConcurrencyLimitedDataSource(target, 1, Duration.ofMillis(100));
+    }
+
+    @Test
+    @DisplayName("한도만큼 커넥션을 쓰는 중이면 대기 시간 뒤 SQLTransientConnectionException 으로 실패하고, close() 하면 다시 얻을 수 있는지 테스트")
+    void acquire_timeout_and_release_on_close() throws SQLException {
+
+        //given
+        given(target.getConnection()).willReturn(connection);
+        Connection first = dataSource.getConnection();
+
+        //when & then: 허가가 없으므로 기다리다 실패한다.
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(90));
+
+        //close() 하면 실제 커넥션을 닫고 허가를 돌려준다. 두 번 닫아도 허가는 한 번만 돌려주므로 한도(1)를 넘지 않는다.
+        first.close();
+        first.close();
+        verify(connection, atLeastOnce()).close();
+
+        Connection second = dataSource.getConnection();
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLTransientConnectionException.class);
+        second.close();
+    }
+
+    @Test
+    @DisplayName("대상 DataSource 가 커넥션을 주지 못하면 얻었던 허가를 바로 돌려주는지 테스트")
+    void release_when_target_fails() throws SQLException {
+
+        //given
+        given(target.getConnection())
+                .willThrow(new SQLException("접속 실패"))
+                .willReturn(connection);
+
+        //when & then
+        assertThatThrownBy(() -> dataSource.getConnection())
+                .isInstanceOf(SQLException.class)
+                .hasMessage("접속 실패");
+        Connection retried = dataSource.getConnection();     //허가를 돌려받았으므로 기다리지 않고 얻는다.
+        assertThat(retried).isNotNull();
+        retried.close();
+    }
+}
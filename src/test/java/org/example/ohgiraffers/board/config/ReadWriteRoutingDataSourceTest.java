@@ -0,0 +1,130 @@
+package org.example.ohgiraffers.board.config;
+
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//서로 다른 내장 DB(H2) 두 개를 primary, replica 로 두고, 트랜잭션 종류에 따라 어느 DB 에서 읽는지 확인한다.
+//두 DB 의 marker 테이블에 각자 이름을 넣어두고 조회 결과로 어느 쪽인지 구분한다.
+public class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate writeTransaction;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setup() {
+        DataSource primary = database("rw_primary");
+        DataSource replica = database("rw_replica");
+        routingDataSource = new ReadWriteRoutingDataSource(primary, Map.of("replica-1", replica));
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routingDataSource);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReadWriteRoutingDataSource.clearPrimaryRequired();
+    }
+
+    @Test
+    @DisplayName("readOnly 트랜잭션은 replica, 쓰기 트랜잭션과 트랜잭션 밖은 primary 에서 실행되는지 테스트")
+    void route_by_transaction() {
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("rw_replica");
+        assertThat(writeTransaction.execute(status -> currentDatabase())).isEqualTo("rw_primary");
+        assertThat(currentDatabase()).isEqualTo("rw_primary");
+    }
+
+    @Test
+    @DisplayName("최근에 쓴 클라이언트(requirePrimary)는 readOnly 트랜잭션도 primary 에서 읽는지 테스트")
+    void read_your_writes() {
+        ReadWriteRoutingDataSource.requirePrimary();
+
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("rw_primary");
+    }
+
+    @Test
+    @DisplayName("onPrimary 안의 readOnly 읽기만 primary 에서 실행되고, 끝나면 다시 replica 에서 읽는지 테스트")
+    void on_primary_is_scoped() {
+        assertThat(readOnlyTransaction.execute(status -> ReadWriteRoutingDataSource.onPrimary(this::currentDatabase))).isEqualTo("rw_primary");
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("rw_replica");
+
+        //바깥에서 requirePrimary 로 고정했다면 onPrimary 가 끝나도 풀리지 않는다.
+        ReadWriteRoutingDataSource.requirePrimary();
+        ReadWriteRoutingDataSource.onPrimary(this::currentDatabase);
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("rw_primary");
+    }
+
+    @Test
+    @DisplayName("복제 지연이 한도를 넘은 replica 는 빼고 primary 에서 읽는지 테스트")
+    void replica_lag_fallback() {
+        //지연 10초 > 한도 5초
+        new ReplicaLagMonitor(routingDataSource, "select 10", Duration.ofSeconds(5), Duration.ofSeconds(1)).check();
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("rw_primary");
+
+        //지연이 줄어들면 다시 replica 에서 읽는다.
+        new ReplicaLagMonitor(routingDataSource, "select 1", Duration.ofSeconds(5), Duration.ofSeconds(1)).check();
+        assertThat(readOnlyTransaction.execute(status -> currentDatabase())).isEqualTo("rw_replica");
+    }
+
+    @Test
+    @DisplayName("커넥션을 얻지 못하고 멈춘 replica 는 확인 제한 시간 안에 사용하지 않는 것으로 처리하는지 테스트")
+    void stuck_replica_check_times_out() {
+        DataSource stuck = new DriverManagerDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                try {
+                    Thread.sleep(Duration.ofSeconds(30).toMillis());    //죽은 replica: 풀의 connection-timeout 까지 기다린다.
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new SQLTransientConnectionException("connection timeout");
+            }
+        };
+        ReadWriteRoutingDataSource withStuckReplica = new ReadWriteRoutingDataSource(database("rw_primary"), Map.of("stuck", stuck));
+        ReplicaLagMonitor monitor = new ReplicaLagMonitor(withStuckReplica, "select 0", Duration.ofSeconds(5), Duration.ofMillis(200));
+
+        long started = System.nanoTime();
+        monitor.check();
+        monitor.check();    //지난 확인이 끝나지 않았으므로 새로 확인하지 않고 바로 돌아온다.
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(2));
+        assertThat(withStuckReplica.isAvailable("stuck")).isFalse();
+        monitor.shutdown();
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select name from marker", String.class);
+    }
+
+    private static DataSource database(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists marker (name varchar(20))");
+        jdbcTemplate.update("delete from marker");
+        jdbcTemplate.update("insert into marker (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,106 @@
+package org.example.ohgiraffers.board.controller;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ohgiraffers.board.cache.PostCountCache;
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.domain.dto.UpdatePostRequest;
+import org.example.ohgiraffers.board.metrics.SqlBudget;
+import org.example.ohgiraffers.board.service.PostService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+//내장 DB(H2, embedded 프로필)에서 PostController 의 다섯 엔드포인트가 요청 하나에 실행하는 SQL 문 수가 예산을 넘지 않는지 확인한다.
+//요청별 SQL 수는 RequestSqlMetricsFilter 가 요청 속성에 남긴 값을 읽는다.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("embedded")
+public class PostControllerSqlBudgetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostCountCache postCountCache;
+
+    private Long postId;
+
+    @BeforeEach
+    void setup() {
+        postId = postService.createPost(new CreatePostRequest("예산 테스트 제목", "예산 테스트 내용")).getPostId();
+        postCountCache.count();
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/posts 는 insert 2개와 select 1개 이하인지 테스트")
+    void create_budget() throws Exception {
+        MvcResult result = mockMvc.perform(post("/api/v1/posts")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new CreatePostRequest("새 제목", "새 내용"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlBudget.selects(1).inserts(2).check(result);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts/{postId} 는 처음엔 select 1개, 캐시된 뒤에는 SQL 없이 응답하는지 테스트")
+    void read_budget() throws Exception {
+        SqlBudget.selects(1).entityLoads(0).check(mockMvc.perform(get("/api/v1/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        SqlBudget.none().check(mockMvc.perform(get("/api/v1/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andReturn());
+    }
+
+    @Test
+    @DisplayName("PUT /api/v1/posts/{postId} 는 update 1개 + 변경 로그 insert 1개인지 테스트")
+    void update_budget() throws Exception {
+        MvcResult result = mockMvc.perform(put("/api/v1/posts/{postId}", postId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsBytes(new UpdatePostRequest("수정 제목", "수정 내용"))))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlBudget.none().updates(1).inserts(1).check(result);
+    }
+
+    @Test
+    @DisplayName("DELETE /api/v1/posts/{postId} 는 삭제 표시 update 1개 + 변경 로그 insert 1개인지 테스트")
+    void delete_budget() throws Exception {
+        MvcResult result = mockMvc.perform(delete("/api/v1/posts/{postId}", postId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlBudget.none().updates(1).inserts(1).check(result);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/posts 는 count 없이 select 1개이고 엔티티를 로드하지 않는지 테스트")
+    void read_all_budget() throws Exception {
+        MvcResult result = mockMvc.perform(get("/api/v1/posts").param("page", "0"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SqlBudget.selects(1).entityLoads(0).check(result);
+    }
+}
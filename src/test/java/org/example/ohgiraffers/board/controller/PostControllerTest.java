@@ -2,7 +2,10 @@ package org.example.ohgiraffers.board.controller;
 
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.ohgiraffers.board.cache.PostResponseCache;
 import org.example.ohgiraffers.board.domain.dto.*;
+import org.example.ohgiraffers.board.search.PostSearchService;
+import org.example.ohgiraffers.board.service.PostExportService;
 import org.example.ohgiraffers.board.service.PostService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,20 +15,32 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.*;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.CannotCreateTransactionException;
 
 
 import java.sql.Array;
+import java.sql.SQLTransientConnectionException;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Function;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 
@@ -73,6 +88,15 @@ public class PostControllerTest {
     @MockBean   //실제 객체처럼 동작하지 않지만 테스트에서 필요한 동작을 지정
     PostService postService;    //서비스: 만들어 놓은 비즈니스 로직을 담고 있음 (게시물 저장하거나 읽어오는 기능)
 //요약: 테스트를 할 때 사용할 가짜 PostService 객체를 만들어 postService 변수에 넣는 것. 이렇게하면 직접 서비스 객체를 만들 필요 없이, 가짜 객체를 사용하여 테스트 가능.
+
+    @MockBean
+    PostSearchService postSearchService;    //PostController가 의존하는 검색 서비스도 가짜 객체로 대신한다.
+
+    @MockBean
+    PostExportService postExportService;    //내보내기 서비스도 가짜 객체로 대신한다.
+
+    @MockBean
+    PostResponseCache postResponseCache;    //get()/put()이 null을 반환하므로 일반 JSON 응답으로 동작한다.
     /** ObjectMapper:
      * 특정 객체를 json 형태로 바꾸기위해 사용한다.
      */
@@ -129,7 +153,7 @@ public class PostControllerTest {
 
         //given
         Long postID = 1L;   //변수에는 조회할 게시글의 id를 지정. 여기서는 1L
-        ReadPostResponse response = new ReadPostResponse(1L, "테스트 제목", "테스트 내용");
+        ReadPostResponse response = new ReadPostResponse(1L, "테스트 제목", "테스트 내용", 3L, 42L);
         //response객체에는 테스트에서 반환할 게시글의 정보가 들어가 있다. 이 경우 게시글의 id가 1L, 제목과 내용이 "테스트제목"/"테스트내용"인 게시글 정보가 들어가 있음.
 
         given(postService.readPostById(any())).willReturn(response);    //postService 메서드가 호출되면 어떤 값이 전달되든 준비한 response 객체를 반환하도록 설정.
@@ -141,10 +165,73 @@ public class PostControllerTest {
                 .andExpect(jsonPath("$.title").value("테스트 제목"))
                 .andExpect(jsonPath("$.content").value("테스트 내용"))
                 //요청에 대한 응답이 올바른지 검증. $.postid, $.title, $.content는 응답 json의 각 필드를 나타내고, 이 값들이 각각 1L, 테스트제목, 테스트 내용과 일치하는지 확인.
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("X-View-Count", "42"))
+                .andExpect(jsonPath("$.viewCount").doesNotExist())  //조회수는 본문(ETag 대상)에 넣지 않는다.
                 .andDo(print());
 
     }
 
+    @Test
+    @DisplayName("직렬화된 응답이 캐시에 있으면 그 바이트를 그대로 응답하는지 테스트")
+    void read_post_cached_bytes_test() throws Exception {
+
+        //given
+        byte[] json = "{\"postId\":1,\"title\":\"캐시된 제목\"}".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        given(postResponseCache.get(1L)).willReturn(new PostResponseCache.Entry(3L, json, null));
+        given(postService.recordView(1L)).willReturn(42L);  //조회수는 캐시가 아니라 응답할 때마다 구한다.
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/{postId}", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("Content-Length", String.valueOf(json.length)))
+                .andExpect(header().string("X-View-Count", "42"))
+                .andExpect(jsonPath("$.title").value("캐시된 제목"))
+                .andDo(print());
+
+        verify(postService).recordView(1L);     //조회수는 센다.
+        verify(postService, never()).readPostById(any());
+    }
+
+    @Test
+    @DisplayName("Accept-Encoding 의 q 값이 0 이면 gzip 으로 응답하지 않는지 테스트")
+    void read_post_cached_gzip_refused_test() throws Exception {
+
+        //given
+        byte[] json = "{\"postId\":1,\"title\":\"캐시된 제목\"}".getBytes(java.nio.charset.StandardCharsets.UTF_8);
+        given(postResponseCache.get(1L)).willReturn(new PostResponseCache.Entry(3L, json, null));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/{postId}", 1L).header("Accept-Encoding", "gzip;q=0, identity"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Content-Encoding"))
+                .andExpect(jsonPath("$.title").value("캐시된 제목"));
+
+        verify(postResponseCache, never()).gzip(any(), any());     //압축본을 만들지도 않는다.
+        assertThat(PostController.acceptsGzip("deflate, gzip;q=0.5")).isTrue();
+        assertThat(PostController.acceptsGzip("*;q=0.1")).isTrue();
+        assertThat(PostController.acceptsGzip("gzip;q=0, *")).isFalse();
+    }
+
+    @Test
+    @DisplayName("If-None-Match가 현재 버전과 같으면 본문 없이 304를 응답하는지 테스트")
+    void read_post_not_modified_test() throws Exception {
+
+        //given
+        given(postService.readPostVersion(1L)).willReturn(new PostVersionResponse(3L, 42L));
+
+        //when & then
+        mockMvc.perform(get("/api/v1/posts/{postId}", 1L).header("If-None-Match", "\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(header().string("X-View-Count", "42"))     //조회수는 버전과 상관없이 바뀌므로 304에도 내려준다.
+                .andExpect(content().string(""))
+                .andDo(print());
+
+        verify(postService, never()).readPostById(any());   //content를 읽는 단건 조회는 호출되지 않는다.
+    }
+
     @Test
     @DisplayName("게시글을 수정하는 테스트")
     void update_post_test() throws Exception {  //테스트 메서드(update_post_test) 의 선언. 이 메서드는 어떤 값도 반환하지 않는다. 또한, void throw Exception 은 메서드에서 발생할 수 있는 예외 처리하기 위한 것.
@@ -153,15 +240,16 @@ public class PostControllerTest {
         Long postId = 1L;   //postId라는 변수에 1L이라는 값을 할당.(테스트하는 게시글의 ID를 나타낸다.)
 
         UpdatePostRequest request = new UpdatePostRequest("변경 제목", "변경 내용");    //UpdatePostRequest 객체를 생성하고, 이 객체는 게시글을 수정하는 요청을 나타내며 제목은 변경제목, 내용은 변경내용 이다.
-        UpdatePostResponse response = new UpdatePostResponse(1L, "변경 제목", "변경 내용"); //UpdatePostResponse 객체를 생성하고, 이 객체는 게시글 수정에 대한 응답을 나타내며, 게시글의 Id는 1L이고, 제목과 내용은 각각 변경제목과 변경 내용이다.
+        UpdatePostResponse response = new UpdatePostResponse(1L, "변경 제목", "변경 내용", 4L); //UpdatePostResponse 객체를 생성하고, 이 객체는 게시글 수정에 대한 응답을 나타내며, 게시글의 Id는 1L이고, 제목과 내용은 각각 변경제목과 변경 내용이다.
 
-        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class))).willReturn(response);
+        given(postService.updatePost(any(Long.class), any(UpdatePostRequest.class), eq(3L))).willReturn(response);
         //설명: postService.updatePost()메서드가 호출될 떄 어떤 입력값이 들어와도 우리가 설정한 (any)response 객체를 반환하도록 하는 것.
         // 가상의 데이터를 설정하고 특정 메서드가 어떤 입력값을 받든 항상 동일한 결과를 반환하도록 만드는 것.
 
         //when & then
         mockMvc.perform(put("/api/v1/posts/{postId}", postId)   //가상의 HTTP PUT 요청을 만들어 테스트. 요청 URL은 "/api/v1/posts/{postId}", {postID}부분은 위에서 설정한 postID변수의 값인 1L로 대체.
                         .contentType(MediaType.APPLICATION_JSON)    //요청의 타입을 JSON으로 설정
+                        .header("If-Match", "\"3\"")      //버전 3일 때만 수정
                         .content(objectMapper.writeValueAsBytes(request))
                         //요청의 본문에는 request 객체를 JSON으로 변환한 값을 넣는다.
                         //예를 들어, request 객체에 제목과 내용이 각각 "테스트제목"/"테스트내용"으로 설정되었다면 이코드는 요청의 본문에 {"title":"테스트 제목","content":"테스트 내용"}와 같은 형태의 JSON 데이터가 들어간다.
@@ -170,12 +258,43 @@ public class PostControllerTest {
                 .andExpect(status().isOk()) //서버가 요청을 처리한 결과고 http상태 코드가 200(ok)인지 검증.
                 .andExpect(jsonPath("$.postId").value(1L))  //서버가 반환한 JSON응답에서 postID필드의 값이 1인지 확인. 게시글의 ID가 1로 설정된것인지 검증.
                 .andExpect(jsonPath("$.title").value("변경 제목"))  //서버가 반환한 JSON응답에서 title 필드의 값이 변경제목인지 확인. 수정된 게시글의 제목이 변경제목으로 설정된것인지 검증.
+                .andExpect(header().string("ETag", "\"4\""))    //수정 후 증가한 버전
                 .andExpect(jsonPath("$.content").value("변경 내용"))    //서버가 반환한 JSON응답에서 content 필드의 값이 변경내용인지 확인. 수정된 게시글의 내용이 변경 내용으로 설정된것인지 검증.
                 //요청에 대한 응답이 맞는지 검증. $.postId, $.title, $.content는 응답 json의 각 필드를 나타냄.
                 //1L, "테스트제목","테스트내용"은 각각 응답 Json의 postId, title, content필드에 대한 기대값을 나타냄.
                 .andDo(print());    //테스트 실행 중 추가적인 정보를 출력하는 역할. 테스트 실패시 서버의 응답이나 다른 정보를 확인할 떄 유용하고 콘솔에 출력해서 확인 가능.
     }
 
+    @Test
+    @DisplayName("If-Match에 weak ETag를 보내면 수정하지 않고 412를 응답하는지 테스트")
+    void update_post_weak_if_match_test() throws Exception {
+
+        //when & then: If-Match는 strong 비교만 허용하므로 버전이 같아도 W/"3"은 일치하지 않는다.
+        mockMvc.perform(put("/api/v1/posts/{postId}", 1L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .header("If-Match", "W/\"3\"")
+                        .content(objectMapper.writeValueAsBytes(new UpdatePostRequest("변경 제목", "변경 내용"))))
+                .andExpect(status().isPreconditionFailed())
+                .andDo(print());
+
+        verify(postService, never()).updatePost(any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("JDBC 동시 실행 한도를 기다리다 커넥션을 얻지 못하면 503 과 Retry-After 를 응답하는지 테스트")
+    void connection_unavailable_test() throws Exception {
+
+        //given
+        given(postService.deletePost(1L)).willThrow(new CannotCreateTransactionException("Could not open JPA EntityManager for transaction",
+                new SQLTransientConnectionException("JDBC 동시 실행 한도를 초과했습니다. (2000ms 대기)")));
+
+        //when & then
+        mockMvc.perform(delete("/api/v1/posts/{postId}", 1L))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"))
+                .andDo(print());
+    }
+
     @Test
     @DisplayName("게시글을 삭제하는 테스트")
     void delete_post_test() throws Exception {  //테스트 메서드임을 나타내며 아무것도 반환하지 않고 Exception을 던질수 있음을 나타냄.
@@ -227,6 +346,96 @@ public class PostControllerTest {
                .andDo(print()); //테스트 수행 중에 요청과 응답에 대한 정보를 콘솔에 출력하는 역할. (테스트 중 발생한 요청과 응답의 내용을 확인)
 
    }
-}
 
+   @Test
+   @DisplayName("전체 개수 없이 다음 페이지 여부만 조회하는 기능 테스트")
+   void read_post_slice_test() throws Exception {
+
+       //given
+       PageRequest pageRequest = PageRequest.of(0, 1);
+       Slice<ReadPostResponse> slice = new SliceImpl<>(List.of(new ReadPostResponse(2L, "테스트 제목", "테스트 내용")), pageRequest, true);
+       given(postService.readPostSlice(any())).willReturn(slice);
+
+       //when & then
+       mockMvc.perform(get("/api/v1/posts/slice").param("size", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.content[0].postId").value(2L))
+               .andExpect(jsonPath("$.last").value(false))
+               .andExpect(jsonPath("$.totalElements").doesNotExist())
+               .andDo(print());
+   }
+
+   @Test
+   @DisplayName("게시글 요약을 페이지 단위로 조회하는 기능 테스트")
+   void read_all_post_summaries_test() throws Exception {
+
+       //given
+       PageRequest pageRequest = PageRequest.of(0, 5);
+       Page<PostSummaryResponse> summaries = new PageImpl<>(List.of(new PostSummaryResponse(1L, "테스트 제목")), pageRequest, 1);
+       given(postService.readAllPostSummaries(any(), anyInt())).willReturn(summaries);
+
+       //when & then: 미리보기를 요청하지 않으면 preview 필드가 응답에 없다.
+       mockMvc.perform(get("/api/v1/posts/summaries"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.content[0].postId").value(1L))
+               .andExpect(jsonPath("$.content[0].title").value("테스트 제목"))
+               .andExpect(jsonPath("$.content[0].preview").doesNotExist())
+               .andDo(print());
+   }
+
+   @Test
+   @DisplayName("게시글을 검색하는 기능 테스트")
+   void search_post_test() throws Exception {
+
+       //given
+       given(postSearchService.search("테스트", 10)).willReturn(List.of(new SearchPostResponse(1L, "테스트 제목", 1.5)));
+
+       //when & then
+       mockMvc.perform(get("/api/v1/posts/search").param("q", "테스트"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].postId").value(1L))
+               .andExpect(jsonPath("$[0].title").value("테스트 제목"))
+               .andDo(print());
+   }
+
+   @Test
+   @DisplayName("게시글을 커서 기반으로 조회하는 기능 테스트")
+   void read_post_by_cursor_test() throws Exception {
+
+       //given
+       ReadPostResponse readPostResponse = new ReadPostResponse(1L, "테스트 제목", "테스트 내용");
+       CursorPageResponse<ReadPostResponse> response = new CursorPageResponse<>(List.of(readPostResponse), 1, "next", null);
+       given(postService.readPostsByCursor(any(), anyInt())).willReturn(response);
+
+       //when & then
+       mockMvc.perform(get("/api/v1/posts/cursor").param("size", "1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.content[0].postId").value(1L))
+               .andExpect(jsonPath("$.nextCursor").value("next"))
+               .andExpect(jsonPath("$.prevCursor").doesNotExist())
+               .andDo(print());
+   }
 
+   @Test
+   @DisplayName("게시글 전체를 NDJSON으로 내보내는 기능 테스트")
+   void export_post_test() throws Exception {
+
+       //given
+       given(postExportService.exportTo(any(), anyBoolean())).willAnswer(invocation -> {
+           invocation.getArgument(0, java.io.OutputStream.class).write("{\"postId\":1}\n".getBytes());
+           return 1L;
+       });
+
+       //when
+       MvcResult result = mockMvc.perform(get("/api/v1/posts/export"))
+               .andExpect(request().asyncStarted())
+               .andReturn();
+
+       //then
+       mockMvc.perform(asyncDispatch(result))
+               .andExpect(status().isOk())
+               .andExpect(header().string("Content-Type", "application/x-ndjson"))
+               .andExpect(content().string("{\"postId\":1}\n"))
+               .andDo(print());
+   }
+}
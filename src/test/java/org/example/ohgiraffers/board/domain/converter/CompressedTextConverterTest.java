@@ -0,0 +1,51 @@
+package org.example.ohgiraffers.board.domain.converter;
+
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//content 압축 저장(CompressedTextConverter, PostContentCodec) 테스트
+public class CompressedTextConverterTest {
+
+    private final CompressedTextConverter converter = new CompressedTextConverter();
+
+    @Test
+    @DisplayName("짧은 글은 압축하지 않고, 긴 글은 압축해서 저장한 뒤 그대로 복원하는지 테스트")
+    void round_trip() {
+
+        String shortContent = "테스트 내용";
+        String longContent = "긴 게시글 내용입니다. ".repeat(200);
+
+        byte[] shortStored = converter.convertToDatabaseColumn(shortContent);
+        byte[] longStored = converter.convertToDatabaseColumn(longContent);
+
+        assertThat(shortStored.length).isEqualTo(shortContent.getBytes(StandardCharsets.UTF_8).length + 3);   //헤더 3바이트만 붙는다.
+        assertThat(longStored.length).isLessThan(longContent.getBytes(StandardCharsets.UTF_8).length / 10);
+        assertThat(converter.convertToEntityAttribute(shortStored)).isEqualTo(shortContent);
+        assertThat(converter.convertToEntityAttribute(longStored)).isEqualTo(longContent);
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+
+    @Test
+    @DisplayName("압축 도입 전에 저장된 텍스트는 그대로 읽는지 테스트")
+    void reads_legacy_text() {
+        assertThat(converter.convertToEntityAttribute("예전 내용".getBytes(StandardCharsets.UTF_8))).isEqualTo("예전 내용");
+    }
+
+    @Test
+    @DisplayName("압축된 값이 잘려 있으면 예외를 발생시키는지 테스트")
+    void rejects_truncated_value() {
+
+        byte[] stored = converter.convertToDatabaseColumn("긴 게시글 내용입니다. ".repeat(200));
+        byte[] truncated = Arrays.copyOf(stored, stored.length / 2);
+
+        assertThrows(IllegalStateException.class, () -> converter.convertToEntityAttribute(truncated));
+    }
+}
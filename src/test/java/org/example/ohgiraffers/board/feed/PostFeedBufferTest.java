@@ -0,0 +1,49 @@
+package org.example.ohgiraffers.board.feed;
+
+
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//게시글 변경 피드의 링 버퍼 테스트
+public class PostFeedBufferTest {
+
+    @Test
+    @DisplayName("용량은 2의 거듭제곱으로 올리고, 쓴 순서대로 sequence 로 읽을 수 있는지 테스트")
+    void publish_and_get() {
+        PostFeedBuffer buffer = new PostFeedBuffer(3);
+        assertThat(buffer.capacity()).isEqualTo(4);
+        assertThat(buffer.lastSequence()).isEqualTo(-1);
+        assertThat(buffer.isAvailableFrom(0)).isTrue();     //읽을 것이 없음
+
+        buffer.publish(10L, PostChangeType.CREATED);
+        buffer.publish(10L, PostChangeType.UPDATED);
+
+        assertThat(buffer.lastSequence()).isEqualTo(1);
+        assertThat(buffer.get(0).getChangeType()).isEqualTo(PostChangeType.CREATED);
+        assertThat(buffer.get(1).getChangeType()).isEqualTo(PostChangeType.UPDATED);
+        assertThat(buffer.get(2)).isNull();     //아직 쓰지 않음
+    }
+
+    @Test
+    @DisplayName("가득 차면 오래된 변경을 덮어쓰고, 덮어쓴 위치부터는 이어서 읽을 수 없는지 테스트")
+    void overwrite_oldest() {
+        PostFeedBuffer buffer = new PostFeedBuffer(4);
+        for (long postId = 1; postId <= 6; postId++) {
+            buffer.publish(postId, PostChangeType.CREATED);
+        }
+
+        //sequence 0, 1 은 4, 5 로 덮어써졌다.
+        assertThat(buffer.get(0)).isNull();
+        assertThat(buffer.get(1)).isNull();
+        assertThat(buffer.get(2).getPostId()).isEqualTo(3L);
+        assertThat(buffer.get(5).getPostId()).isEqualTo(6L);
+
+        assertThat(buffer.isAvailableFrom(1)).isFalse();
+        assertThat(buffer.isAvailableFrom(2)).isTrue();
+        assertThat(buffer.isAvailableFrom(6)).isTrue();     //최신까지 받은 구독자
+        assertThat(buffer.isAvailableFrom(7)).isFalse();    //이전 프로세스의 id 처럼 앞서 있는 위치
+    }
+}
@@ -0,0 +1,200 @@
+package org.example.ohgiraffers.board.feed;
+
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.domain.event.PostChangedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//게시글 변경 피드 전송(PostFeedService) 테스트. dispatch()는 스케줄러 대신 테스트에서 직접 호출한다.
+public class PostFeedServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PostFeedService postFeedService;
+
+    @BeforeEach
+    void setUp() {
+        //전송 스레드 1개(묶이면 3개까지 늘림), 한 번의 전송은 200ms 까지
+        postFeedService = new PostFeedService(meterRegistry, 16, 100, 1, 3,
+                Duration.ofMinutes(1), Duration.ofHours(1), Duration.ofMillis(200), "resync");
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        postFeedService.shutdown();
+    }
+
+    @Test
+    @DisplayName("같은 인스턴스의 Last-Event-ID 면 이어서 보내고, 다른 인스턴스의 id 면 resync 를 보내는지 테스트")
+    void resume_only_within_same_boot() throws InterruptedException {
+
+        //given: 첫 구독자가 받은 이벤트 id 로 이 인스턴스의 id 형식을 알아낸다.
+        RecordingEmitter first = new RecordingEmitter();
+        postFeedService.subscribe(null, first);
+        publish(1L);
+        String firstId = awaitEvent(first, 0).lines().filter(line -> line.startsWith("id:")).findFirst().orElseThrow().substring(3);
+        publish(2L);
+
+        //when
+        RecordingEmitter resumed = new RecordingEmitter();
+        postFeedService.subscribe(firstId, resumed);
+        RecordingEmitter foreign = new RecordingEmitter();
+        postFeedService.subscribe("otherboot-0", foreign);     //sequence 0 은 이 인스턴스에도 있지만 다른 변경이다.
+
+        //then
+        String next = awaitEvent(resumed, 0);
+        assertThat(next).contains("event:post");
+        assertThat(next).contains("id:" + firstId.substring(0, firstId.lastIndexOf('-')) + "-1");
+        assertThat(awaitEvent(foreign, 0)).contains("event:resync");
+    }
+
+    @Test
+    @DisplayName("받지 않는 구독자가 전송 스레드를 묶어도 send-timeout 이 지나면 끊고 다른 구독자에게 계속 보내는지 테스트")
+    void stalled_subscriber_does_not_block_others() throws InterruptedException {
+
+        //given: 하나뿐인 전송 스레드가 받지 않는 구독자에게 보내다가 묶인다.
+        StalledEmitter stalled = new StalledEmitter();
+        postFeedService.subscribe(null, stalled);
+        publish(1L);
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (!stalled.entered.await(10, TimeUnit.MILLISECONDS) && System.nanoTime() < deadline) {
+            postFeedService.dispatch();
+        }
+        assertThat(stalled.entered.getCount()).isZero();
+
+        //when
+        RecordingEmitter healthy = new RecordingEmitter();
+        postFeedService.subscribe(null, healthy);
+        publish(2L);
+
+        //then
+        assertThat(awaitEvent(healthy, 0)).contains("event:post");
+        assertThat(stalled.interrupted.await(5, TimeUnit.SECONDS)).isTrue();   //묶인 전송 스레드는 인터럽트된다.
+        assertThat(postFeedService.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("board.feed.slow-consumers").tag("action", "timeout").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("받지 않는 구독자가 계속 몰려도 전송 스레드가 max-senders 를 넘지 않고, 묶인 스레드가 돌아오면 다시 줄어드는지 테스트")
+    void stalled_senders_are_capped() throws InterruptedException {
+
+        //given: 인터럽트에도 풀리지 않는 구독자 10명
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 10; i++) {
+            postFeedService.subscribe(null, new StuckEmitter(release));
+        }
+        publish(1L);
+
+        //when: send-timeout(200ms)을 여러 번 넘기도록 dispatch(abandon)를 반복한다.
+        int maxPoolSize = 0;
+        long deadline = System.nanoTime() + Duration.ofSeconds(2).toNanos();
+        while (System.nanoTime() < deadline) {
+            postFeedService.dispatch();
+            maxPoolSize = Math.max(maxPoolSize, postFeedService.senderPoolSize());
+            Thread.sleep(5);
+        }
+
+        //then
+        assertThat(maxPoolSize).isEqualTo(3);
+        assertThat(meterRegistry.get("board.feed.slow-consumers").tag("action", "timeout").counter().count()).isEqualTo(3);
+
+        //묶였던 스레드가 돌아오면 sender-threads 개로 돌아온다.
+        release.countDown();
+        deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (postFeedService.senderPoolSize() > 1 && System.nanoTime() < deadline) {
+            postFeedService.dispatch();
+            Thread.sleep(10);
+        }
+        assertThat(postFeedService.senderPoolSize()).isEqualTo(1);
+    }
+
+    private void publish(Long postId) {
+        postFeedService.onPostChanged(new PostChangedEvent(postId, PostChangeType.UPDATED, false));
+    }
+
+    //dispatch 를 반복해서 emitter 가 index 번째 이벤트를 받을 때까지 기다린다.
+    private String awaitEvent(RecordingEmitter emitter, int index) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (emitter.events.size() <= index && System.nanoTime() < deadline) {
+            postFeedService.dispatch();
+            Thread.sleep(10);
+        }
+        assertThat(emitter.events).hasSizeGreaterThan(index);
+        return emitter.events.get(index);
+    }
+
+    //클라이언트가 읽지 않아 쓰기가 끝나지 않는 상황. 인터럽트될 때까지 send 가 돌아오지 않는다.
+    static class StalledEmitter extends SseEmitter {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+
+        final CountDownLatch interrupted = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new IOException("전송 중 인터럽트", e);
+            }
+        }
+    }
+
+    //인터럽트를 무시하고 release 될 때까지 묶여 있는 쓰기. (서블릿 컨테이너의 쓰기 타임아웃까지 풀리지 않는 경우)
+    static class StuckEmitter extends SseEmitter {
+
+        private final CountDownLatch release;
+
+        StuckEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    release.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    //보낸 이벤트를 SSE 텍스트로 모아두는 emitter
+    static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            for (ResponseBodyEmitter.DataWithMediaType data : builder.build()) {
+                text.append(data.getData());
+            }
+            events.add(text.toString());
+        }
+    }
+}
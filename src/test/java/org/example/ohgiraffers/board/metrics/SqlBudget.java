@@ -0,0 +1,100 @@
+package org.example.ohgiraffers.board.metrics;
+
+import org.example.ohgiraffers.board.metrics.SqlStatementCounter.Snapshot;
+import org.example.ohgiraffers.board.metrics.SqlStatementCounter.StatementType;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+import static org.assertj.core.api.Assertions.fail;
+
+/** SqlBudget
+ * 테스트에서 SQL 문 수의 상한(예산)을 확인한다. 지정하지 않은 종류는 0 개로 본다.
+ * SqlStatementCounter(Hibernate StatementInspector)로 세므로, Hibernate를 거치지 않는 JdbcTemplate 문은 세지 않는다.
+ *
+ * SqlBudget.selects(1).verify(() -> postService.readPostById(postId));     //서비스 메서드 단위
+ * SqlBudget.selects(1).check(mockMvc.perform(get("/api/v1/posts/1")).andReturn());    //요청 단위
+ */
+public final class SqlBudget {
+
+    private final Map<StatementType, Long> limits = new EnumMap<>(StatementType.class);
+
+    private long maxEntityLoads = Long.MAX_VALUE;
+
+    private SqlBudget() {
+        for (StatementType type : StatementType.values()) {
+            limits.put(type, 0L);
+        }
+    }
+
+    //SQL을 하나도 실행하지 않아야 한다.
+    public static SqlBudget none() {
+        return new SqlBudget();
+    }
+
+    public static SqlBudget selects(long max) {
+        return new SqlBudget().and(StatementType.SELECT, max);
+    }
+
+    public SqlBudget inserts(long max) {
+        return and(StatementType.INSERT, max);
+    }
+
+    public SqlBudget updates(long max) {
+        return and(StatementType.UPDATE, max);
+    }
+
+    public SqlBudget deletes(long max) {
+        return and(StatementType.DELETE, max);
+    }
+
+    //로드되는 엔티티 수 상한 (목록 조회가 DTO 프로젝션 대신 엔티티를 읽거나, 지연 로딩으로 N+1 이 생기는 것을 막는다)
+    public SqlBudget entityLoads(long max) {
+        this.maxEntityLoads = max;
+        return this;
+    }
+
+    public SqlBudget and(StatementType type, long max) {
+        limits.put(type, max);
+        return this;
+    }
+
+    //현재 스레드에서 action 을 실행하는 동안의 SQL 수를 확인하고, action 의 결과를 돌려준다.
+    public <T> T verify(Callable<T> action) throws Exception {
+        SqlStatementCounter.reset();
+        try {
+            T result = action.call();
+            check(SqlStatementCounter.snapshot());
+            return result;
+        } finally {
+            SqlStatementCounter.reset();
+        }
+    }
+
+    //MockMvc 요청 하나에서 실행된 SQL 수를 확인한다. (RequestSqlMetricsFilter 가 요청 속성에 남긴 값)
+    public void check(MvcResult result) {
+        Object snapshot = result.getRequest().getAttribute(RequestSqlMetricsFilter.SNAPSHOT_ATTRIBUTE);
+        if (snapshot == null) {
+            fail("SQL 수가 기록되지 않았습니다. (RequestSqlMetricsFilter 가 적용되지 않은 요청: " + result.getRequest().getRequestURI() + ")");
+        }
+        check((Snapshot) snapshot);
+    }
+
+    public void check(Snapshot counted) {
+        StringBuilder exceeded = new StringBuilder();
+        for (StatementType type : StatementType.values()) {
+            if (counted.count(type) > limits.get(type)) {
+                exceeded.append(type).append(' ').append(counted.count(type)).append(" > ").append(limits.get(type)).append(", ");
+            }
+        }
+        if (counted.entityLoads() > maxEntityLoads) {
+            exceeded.append("ENTITY_LOADS ").append(counted.entityLoads()).append(" > ").append(maxEntityLoads).append(", ");
+        }
+        if (!exceeded.isEmpty()) {
+            fail("SQL 예산 초과: " + exceeded + "실행된 SQL: " + counted);
+        }
+    }
+}
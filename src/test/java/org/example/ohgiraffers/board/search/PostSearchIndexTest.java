@@ -0,0 +1,98 @@
+package org.example.ohgiraffers.board.search;
+
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+//메모리 검색 색인(PostSearchIndex) 테스트. 스프링 없이 색인 객체만 만들어서 검증한다.
+public class PostSearchIndexTest {
+
+    private PostSearchIndex postSearchIndex;
+
+    @BeforeEach
+    void setup() {
+        postSearchIndex = new PostSearchIndex();
+        postSearchIndex.index(1L, "스프링 게시판 만들기", "JPA로 게시글을 저장합니다.");
+        postSearchIndex.index(2L, "오늘의 점심", "게시판과 관계없는 내용입니다.");
+        postSearchIndex.index(3L, "Docker 배포", "스프링 애플리케이션을 컨테이너로 배포");
+    }
+
+    @Test
+    @DisplayName("한글은 두 글자씩 잘라서 조사가 붙어도 검색되는지 테스트")
+    void tokenize_korean() {
+        assertThat(PostTokenizer.tokenize("게시글을 JPA")).containsExactly("게시", "시글", "글을", "jpa");
+        assertThat(postSearchIndex.search("게시글", 10).get(0).getPostId()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("제목에 검색어가 있는 게시글이 더 높은 순위로 검색되는지 테스트")
+    void search_rank() {
+        List<PostSearchIndex.Hit> hits = postSearchIndex.search("게시판", 10);
+
+        assertThat(hits).extracting(PostSearchIndex.Hit::getPostId).containsExactly(1L, 2L);
+        assertThat(hits.get(0).getTitle()).isEqualTo("스프링 게시판 만들기");
+    }
+
+    @Test
+    @DisplayName("수정/삭제된 게시글이 색인에 반영되는지 테스트")
+    void update_and_remove() {
+        //when
+        postSearchIndex.index(1L, "제목 변경", "내용 변경");
+        postSearchIndex.remove(3L);
+
+        //then
+        assertThat(postSearchIndex.search("스프링", 10)).isEmpty();
+        assertThat(postSearchIndex.search("변경", 10)).extracting(PostSearchIndex.Hit::getPostId).containsExactly(1L);
+        assertThat(postSearchIndex.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("순서가 섞여서 색인되어도 압축된 목록이 postId 순서를 유지하는지 테스트")
+    void posting_list_out_of_order() {
+        PostingList postingList = new PostingList();
+        postingList.add(300L, 1, 10);
+        postingList.add(5L, 2, 20);
+        postingList.add(1_000_000L, 3, 30);
+        postingList.remove(300L);
+
+        assertThat(postings(postingList)).isEqualTo("5:2 1000000:3 ");
+        assertThat(postingList.size()).isEqualTo(2);
+        assertThat(postingList.pending()).isEqualTo(2);     //5 는 추가 목록, 300 은 tombstone
+
+        //합친 목록은 내용이 같고 보조 목록이 없다.
+        PostingList compacted = postingList.compact();
+        assertThat(postings(compacted)).isEqualTo("5:2 1000000:3 ");
+        assertThat(compacted.size()).isEqualTo(2);
+        assertThat(compacted.pending()).isZero();
+    }
+
+    @Test
+    @DisplayName("오래된 게시글 수정 후 보조 목록을 합쳐도 검색 결과가 같은지 테스트")
+    void compact_keeps_results() {
+        //given: 가장 최근 게시글(3)이 아닌 게시글을 수정하면 보조 목록에 기록된다.
+        postSearchIndex.index(1L, "스프링 게시판 수정", "JPA로 게시글을 저장합니다.");
+        List<PostSearchIndex.Hit> before = postSearchIndex.search("스프링 게시판", 10);
+
+        //when
+        postSearchIndex.compact();
+
+        //then
+        List<PostSearchIndex.Hit> after = postSearchIndex.search("스프링 게시판", 10);
+        assertThat(after).extracting(PostSearchIndex.Hit::getPostId)
+                .containsExactlyElementsOf(before.stream().map(PostSearchIndex.Hit::getPostId).toList());
+        assertThat(after).extracting(PostSearchIndex.Hit::getScore)
+                .containsExactlyElementsOf(before.stream().map(PostSearchIndex.Hit::getScore).toList());
+        assertThat(after.get(0).getPostId()).isEqualTo(1L);
+    }
+
+    private static String postings(PostingList postingList) {
+        StringBuilder result = new StringBuilder();
+        postingList.forEach((postId, termFrequency, length) -> result.append(postId).append(':').append(termFrequency).append(' '));
+        return result.toString();
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.ohgiraffers.board.service;
+
+
+import jakarta.persistence.EntityManager;
+import org.example.ohgiraffers.board.domain.dto.*;
+import org.example.ohgiraffers.board.domain.entity.Post;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//게시글 일괄 처리(PostBatchService) 단위 테스트. 트랜잭션 매니저는 Mock이라 실제 트랜잭션은 열리지 않는다.
+@ExtendWith(MockitoExtension.class)
+public class PostBatchServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostChangePublisher postChangePublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private PostBatchService postBatchService;
+
+    @BeforeEach
+    void setup() {
+        //묶음(chunk) 크기 2, 최대 항목 수 10
+        postBatchService = new PostBatchService(postRepository, postChangePublisher, entityManager, transactionManager, 2, 10);
+    }
+
+    @Test
+    @DisplayName("일괄 수정 시 없는 게시글은 NOT_FOUND, 나머지는 UPDATED로 응답하는지 테스트")
+    void update_posts() {
+
+        //given
+        given(postRepository.findAllLiveById(List.of(1L, 2L))).willReturn(List.of(new Post(1L, "제목1", "내용1", "내용1", 0L, 0L, false)));
+        given(postRepository.findAllLiveById(List.of(3L))).willReturn(List.of(new Post(3L, "제목3", "내용3", "내용3", 0L, 0L, false)));
+
+        //when
+        BatchPostResponse response = postBatchService.updatePosts(List.of(
+                new BatchUpdatePostRequest(1L, "변경1", "변경 내용1"),
+                new BatchUpdatePostRequest(2L, "변경2", "변경 내용2"),
+                new BatchUpdatePostRequest(3L, "변경3", "변경 내용3")));
+
+        //then: 3개 항목이 2개짜리 묶음 2개로 나뉘어 처리된다.
+        assertThat(response.getSucceeded()).isEqualTo(2);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getResults()).extracting(BatchPostResult::getStatus)
+                .containsExactly(BatchPostStatus.UPDATED, BatchPostStatus.NOT_FOUND, BatchPostStatus.UPDATED);
+        verify(postChangePublisher).publishAll(List.of(1L), PostChangeType.UPDATED);
+        verify(postChangePublisher).publishAll(List.of(3L), PostChangeType.UPDATED);
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("한 묶음이 실패하면 그 묶음의 항목만 FAILED로 응답하는지 테스트")
+    void create_posts_chunk_failure() {
+
+        //given: 두 번째 묶음 저장에서 예외 발생
+        given(postRepository.saveAll(anyList()))
+                .willReturn(List.of())
+                .willThrow(new IllegalStateException("DB 오류"));
+
+        //when
+        BatchPostResponse response = postBatchService.createPosts(List.of(
+                new CreatePostRequest("제목1", "내용1"),
+                new CreatePostRequest("제목2", "내용2"),
+                new CreatePostRequest("제목3", "내용3")));
+
+        //then
+        assertThat(response.getResults()).extracting(BatchPostResult::getStatus)
+                .containsExactly(BatchPostStatus.CREATED, BatchPostStatus.CREATED, BatchPostStatus.FAILED);
+        assertThat(response.getResults().get(2).getMessage()).isEqualTo("DB 오류");
+        verify(transactionManager).rollback(any());
+    }
+
+    @Test
+    @DisplayName("최대 항목 수를 넘으면 IllegalArgumentException을 발생시키는지 테스트")
+    void too_many_items() {
+        List<Long> postIds = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L);
+        assertThrows(IllegalArgumentException.class, () -> postBatchService.deletePosts(postIds));
+    }
+}
@@ -0,0 +1,147 @@
+package org.example.ohgiraffers.board.service;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import org.example.ohgiraffers.board.domain.dto.ImportPostError;
+import org.example.ohgiraffers.board.domain.dto.ImportPostResponse;
+import org.example.ohgiraffers.board.domain.entity.Post;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+//게시글 가져오기(PostImportService) 단위 테스트. 트랜잭션 매니저는 Mock이라 실제 트랜잭션은 열리지 않는다.
+@ExtendWith(MockitoExtension.class)
+public class PostImportServiceTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    @Mock
+    private PostChangePublisher postChangePublisher;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private PostImportService postImportService;
+
+    @BeforeEach
+    void setup() {
+        //묶음(chunk) 크기 2, 오류는 최대 10개까지 보관, 레코드는 100자까지
+        postImportService = new PostImportService(postRepository, postChangePublisher, entityManager, transactionManager, new ObjectMapper(),
+                meterRegistry, 2, 10, 100);
+    }
+
+    @Test
+    @DisplayName("NDJSON 본문을 묶음 단위로 저장하고, 잘못된 줄은 오류로 남기는지 테스트")
+    @SuppressWarnings("unchecked")
+    void import_ndjson() throws Exception {
+
+        //given: 2번째 줄은 JSON 형식 오류, 4번째 줄은 빈 줄, 5번째 줄은 제목 없음
+        InputStream body = stream("""
+                {"title":"제목1","content":"내용1"}
+                {"title":
+                {"title":"제목2","content":"내용2"}
+
+                {"content":"내용만"}
+                {"title":"제목3","content":"내용3"}
+                """);
+
+        //when
+        ImportPostResponse response = postImportService.importPosts(body, PostImportService.Format.NDJSON);
+
+        //then: 정상 3건이 2건, 1건 묶음으로 저장된다.
+        assertThat(response.getImported()).isEqualTo(3);
+        assertThat(response.getFailed()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportPostError::getLine).containsExactly(2L, 5L);
+
+        ArgumentCaptor<List<Post>> captor = ArgumentCaptor.forClass(List.class);
+        verify(postRepository, times(2)).saveAll(captor.capture());
+        assertThat(captor.getAllValues().get(0)).extracting(Post::getTitle).containsExactly("제목1", "제목2");
+        assertThat(captor.getAllValues().get(1)).extracting(Post::getTitle).containsExactly("제목3");
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    @DisplayName("CSV 본문의 따옴표, 쉼표, 줄바꿈이 들어간 값을 읽어서 저장하는지 테스트")
+    @SuppressWarnings("unchecked")
+    void import_csv() throws Exception {
+
+        //given
+        InputStream body = stream("title,content\r\n\"제목, 하나\",\"첫 줄\n\"\"둘째\"\" 줄\"\r\n제목2,내용2\r\n");
+
+        //when
+        ImportPostResponse response = postImportService.importPosts(body, PostImportService.Format.CSV);
+
+        //then
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getFailed()).isZero();
+
+        ArgumentCaptor<List<Post>> captor = ArgumentCaptor.forClass(List.class);
+        verify(postRepository).saveAll(captor.capture());
+        Post first = captor.getValue().get(0);
+        assertThat(first.getTitle()).isEqualTo("제목, 하나");
+        assertThat(first.getContent()).isEqualTo("첫 줄\n\"둘째\" 줄");
+    }
+
+    @Test
+    @DisplayName("NDJSON 의 너무 긴 줄은 그 줄만 오류로 남기고 다음 줄부터 계속 가져오는지 테스트")
+    void import_ndjson_too_long_line() throws Exception {
+
+        //given: 2번째 줄이 최대 길이(100자)를 넘는다.
+        InputStream body = stream("{\"title\":\"제목1\"}\n{\"title\":\"" + "가".repeat(200) + "\"}\n{\"title\":\"제목2\"}\n");
+
+        //when
+        ImportPostResponse response = postImportService.importPosts(body, PostImportService.Format.NDJSON);
+
+        //then
+        assertThat(response.getImported()).isEqualTo(2);
+        assertThat(response.getErrors()).extracting(ImportPostError::getLine).containsExactly(2L);
+        assertThat(meterRegistry.get("board.import.posts").tag("result", "imported").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("board.import.posts").tag("result", "failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("CSV 의 닫히지 않은 큰따옴표가 본문 나머지를 모두 읽어들이지 않고 최대 길이에서 멈추는지 테스트")
+    void import_csv_unbalanced_quote() throws Exception {
+
+        //given: 3번째 줄의 따옴표가 닫히지 않아 뒤의 모든 줄이 한 값으로 이어진다.
+        InputStream body = stream("title,content\n제목1,내용1\n제목2,\"내용2\n" + "제목,내용\n".repeat(100));
+
+        //when
+        ImportPostResponse response = postImportService.importPosts(body, PostImportService.Format.CSV);
+
+        //then
+        assertThat(response.getImported()).isEqualTo(1);
+        assertThat(response.getFailed()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getLine()).isEqualTo(3L);
+            assertThat(error.getMessage()).contains("최대 길이");
+        });
+    }
+
+    private InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
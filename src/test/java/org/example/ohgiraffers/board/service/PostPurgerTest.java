@@ -0,0 +1,68 @@
+package org.example.ohgiraffers.board.service;
+
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+//삭제 표시된 게시글 정리(PostPurger) 단위 테스트
+@ExtendWith(MockitoExtension.class)
+public class PostPurgerTest {
+
+    @Mock
+    private PostRepository postRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private PostPurger postPurger;
+
+    @BeforeEach
+    void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        postPurger = new PostPurger(postRepository, meterRegistry, 2);   //한 번에 2개씩
+    }
+
+    @Test
+    @DisplayName("한 번 실행할 때 batch-size 개까지만 찾아서 지우는지 테스트")
+    void purge_one_batch() {
+
+        //given
+        given(postRepository.findDeletedIds(PageRequest.of(0, 2))).willReturn(List.of(3L, 7L));
+        given(postRepository.purgeAllById(List.of(3L, 7L))).willReturn(2);
+
+        //when
+        postPurger.purge();
+
+        //then
+        verify(postRepository).purgeAllById(List.of(3L, 7L));
+        assertThat(meterRegistry.counter("board.post.purged").count()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("삭제 표시된 게시글이 없으면 delete 문을 실행하지 않는지 테스트")
+    void nothing_to_purge() {
+
+        //given
+        given(postRepository.findDeletedIds(any())).willReturn(List.of());
+
+        //when
+        postPurger.purge();
+
+        //then
+        verify(postRepository, never()).purgeAllById(any());
+    }
+}
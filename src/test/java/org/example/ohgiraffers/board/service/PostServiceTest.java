@@ -2,8 +2,12 @@ package org.example.ohgiraffers.board.service;
 
 
 import jakarta.persistence.EntityNotFoundException;
+import jakarta.persistence.OptimisticLockException;
+import org.example.ohgiraffers.board.cache.PostCache;
+import org.example.ohgiraffers.board.cache.PostCountCache;
 import org.example.ohgiraffers.board.domain.dto.*;
 import org.example.ohgiraffers.board.domain.entity.Post;
+import org.example.ohgiraffers.board.domain.event.PostChangeType;
 import org.example.ohgiraffers.board.repository.PostRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,9 +17,10 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 
 import java.util.Arrays;
 import java.util.List;
@@ -25,6 +30,8 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
 import static org.assertj.core.api.Assertions.*;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 //Mockito는 자바에서  유닛 테스트를 작성할 때 Mock객체를 생성하고 관리하는 오픈 소스 테스팅 프레임워크.
@@ -42,6 +49,18 @@ public class PostServiceTest {
     @Mock
     private PostRepository postRepository;  //PostRepository인터페이스를 구현한 Mock객체를 생성하는 것을 나타냄.
 
+    @Mock
+    private PostCache postCache;    //get()이 null을 반환하므로 항상 캐시 miss로 동작한다.
+
+    @Mock
+    private PostChangePublisher postChangePublisher;
+
+    @Mock
+    private PostViewCounter postViewCounter;    //pending()이 0을 반환하므로 조회수는 DB(캐시) 값 그대로다.
+
+    @Mock
+    private PostCountCache postCountCache;
+
     /** @InjectMocks //(Mockito)에서 사용, 테스트 대상 클래스의 필드에 자동으로 Mock객체가 생성/주입.
      * Mock 객체가 주입될 클래스를 지정한다.
      */
@@ -56,11 +75,16 @@ public class PostServiceTest {
 
     private UpdatePostRequest updatePostRequest;    //게시물 수정 요청을 나타내는 객체.
 
+    //content 가 필요한 조회는 PostRepository의 프로젝션(ReadPostResponse)으로 읽는다.
+    private static ReadPostResponse response(Post post) {
+        return new ReadPostResponse(post.getPostId(), post.getTitle(), post.getContent(), post.getVersion(), post.getViewCount());
+    }
+
     @BeforeEach //각각의 테스트가 실행되기 전에 호출된다. 테스트 메서드에서 사용할 객체들을 초기화하고 설정.
     void setup() {
         //초기화
-        post = new Post(1L, "테스트 제목", "테스트 내용");    //테스트용 게시물 객체로 Id가 1인 테스트 게시물을 나타낸다.
-        savedPost = new Post(2L, "저장되어 있던 테스트 제목", "저장되어 있던 테스트 내용");   //저장되어 있는 게시물 객체, Id가 2인 테스트 게시물을 나타낸다.
+        post = new Post(1L, "테스트 제목", "테스트 내용", "테스트 내용", 0L, 0L, false);    //테스트용 게시물 객체로 Id가 1인 테스트 게시물을 나타낸다.
+        savedPost = new Post(2L, "저장되어 있던 테스트 제목", "저장되어 있던 테스트 내용", "저장되어 있던 테스트 내용", 5L, 0L, false);   //저장되어 있는 게시물 객체, Id가 2인 테스트 게시물을 나타낸다.
         createPostRequest = new CreatePostRequest("테스트 제목", "테스트 내용");  //게시물 생성 요청을 나타내는 객체, 테스트제목/테스트내용을 가진 요청을 나타낸다.
         updatePostRequest = new UpdatePostRequest("변경된 테스트 제목", "변경된 테스트 내용");  //게시물 수정 요청을 나타내는 객체, 변경된테스트제목/변경된테스트내용을 가진 요청을 나타낸다.
     }
@@ -96,8 +120,8 @@ public class PostServiceTest {
     @DisplayName("postId로 게시글을 조회하는 기능 테스트")
     void read_post_by_id_1() {      //메서드: read_post_by_id_1, 아무런 매개변수를 받지않으며(void) 어떤 값도 반환하지 않는다. 특정 postId로 게시글을 조회하고 그 결과를 확인.;
         //given
-        when(postRepository.findById(any())).thenReturn(Optional.of(savedPost));
-        //저장된 게시글이 있다고 설정, postRepository.findById(any())는 어떤 postId가 들어와도 저장된 게시글을 반환한다는 뜻. 따라서 thenReturn(Optional,.of(savedPost))는 저장된 게시글을 반환하도록 설정한 것.
+        when(postRepository.findResponseById(any())).thenReturn(Optional.of(response(savedPost)));
+        //저장된 게시글이 있다고 설정, postRepository.findResponseById(any())는 어떤 postId가 들어와도 저장된 게시글을 반환한다는 뜻. 따라서 thenReturn(Optional,.of(...))는 저장된 게시글을 반환하도록 설정한 것.
 
         //when
         ReadPostResponse readPostResponse = postService.readPostById(savedPost.getPostId());
@@ -111,15 +135,30 @@ public class PostServiceTest {
         //요약: 이 테스트는 postId를 사용하여 게시글을 조회, 그 결과를 검증하는 과정.
     }
 
+    @Test
+    @DisplayName("캐시에 있는 게시글은 DB를 조회하지 않는지 테스트")
+    void read_post_by_id_cached() {
+        //given
+        ReadPostResponse cached = new ReadPostResponse(2L, "캐시된 제목", "캐시된 내용");
+        given(postCache.get(2L)).willReturn(cached);
+
+        //when
+        ReadPostResponse readPostResponse = postService.readPostById(2L);
+
+        //then
+        assertThat(readPostResponse).isSameAs(cached);
+        verify(postRepository, never()).findResponseById(any());
+    }
+
     @Test
     @DisplayName("postId로 게시물을 찾지 못했을 때, 지정한 Exception을 발생시키는지 테스트")
     void read_post_by_id_2() {  //메서드, postid로 게시물을 찾지 못했을 때 예외를 발생시키는 테스트.
         //given
-        given(postRepository.findById(any())).willReturn(Optional.empty());
+        given(postRepository.findResponseById(any())).willReturn(Optional.empty());
         //설명: Mockito의 given 메서드는 목 객체가 특정 메서드 호출에 대해 어떻게 동작해야 하는지 설정하는 역할.
-        // postRepository.findById(any()): postRepository객체의 findById메서드가 호출되는 경우. any()는 어떤 매개변수 값이든 가능하다는 것을 의미.
-        //findById메서드가 호출될 떄 값이 없다면, 이를 나타내기 위해 Optional.empty()를 반환하도록 설정. 게시물이 없는 상황을 가상적으로 시뮬레이션하기 위해 사용된 목 객체 설정.
-        //요약: 만약 postRepository 에서 findById 메서드가 호출되면, 어떤 매개변수 값이든 상관없이 비어있는 상태의 Optional 객체를 반환하도록 해줘라고 요청하는 부분이다.
+        // postRepository.findResponseById(any()): postRepository객체의 findResponseById메서드가 호출되는 경우. any()는 어떤 매개변수 값이든 가능하다는 것을 의미.
+        //findResponseById메서드가 호출될 떄 값이 없다면, 이를 나타내기 위해 Optional.empty()를 반환하도록 설정. 게시물이 없는 상황을 가상적으로 시뮬레이션하기 위해 사용된 목 객체 설정.
+        //요약: 만약 postRepository 에서 findResponseById 메서드가 호출되면, 어떤 매개변수 값이든 상관없이 비어있는 상태의 Optional 객체를 반환하도록 해줘라고 요청하는 부분이다.
 
         //when & then
         assertThrows(EntityNotFoundException.class, () ->   //readPostById 메서드가 호출될 때 예외가 발생하는지 테스트.
@@ -134,11 +173,11 @@ public class PostServiceTest {
         //given
         //설명: Pageable 객체를 생성하여 페이지 번호와 페이지 크기를 설정(한 페이지의 5개의 항목을 표시하도록 요청을 생성)
         Pageable pageable = PageRequest.of(0, 5);
-        List<Post> posts = Arrays.asList(post, savedPost);  //생성된 게시글을 리스트에 담는다.
-        Page<Post> postsPage = new PageImpl<>(posts, pageable, posts.size());   //리스트를 페이지로 변환. PageImpl<>(posts, pageable, posts.size()): 위에서 생성한 페이지 요청과 게시글 리스트를 사용하여 페이지 객체를 만든다.
+        List<ReadPostResponse> posts = Arrays.asList(response(post), response(savedPost));  //생성된 게시글을 리스트에 담는다.
+        Slice<ReadPostResponse> postsSlice = new SliceImpl<>(posts, pageable, false);   //리스트를 Slice로 변환. 다음 페이지가 없는 마지막 페이지.
 
-        given(postRepository.findAll(pageable)).willReturn(postsPage);
-        //Repository 메서드 설정: 게시글을 조회하는 Repository의 findAll 메서드가 주어진 페이지 요청을 받았을 때, 위에서 만든 페이지를 반환하도록 설정.
+        given(postRepository.findResponses(pageable)).willReturn(postsSlice);
+        //Repository 메서드 설정: 게시글을 조회하는 Repository의 findResponses 메서드가 주어진 페이지 요청을 받았을 때, 위에서 만든 Slice를 반환하도록 설정.
 
         //when
         Page<ReadPostResponse> responses = postService.readAllPost(pageable);
@@ -150,6 +189,8 @@ public class PostServiceTest {
 
         //then      (테스트에서 기대하는 결과를 확인하는 단계)
         assertThat(responses.getContent()).hasSize(2);  //조회된 목록의 크기가 2인지 확인. 두 개의 게시글이 조회되어야 한다.
+        assertThat(responses.getTotalElements()).isEqualTo(2);     //마지막 페이지라 읽은 개수가 전체 개수가 된다.
+        verify(postRepository, never()).countLive();   //count 쿼리는 실행하지 않는다.
         assertThat(responses.getContent().get(0).getTitle()).isEqualTo("테스트 제목");
         assertThat(responses.getContent().get(0).getContent()).isEqualTo("테스트 내용");
         //첫 번째 게시글의 제목과 내용이 각각 테스트제목/테스트내용과 일치하는지 확인.
@@ -158,37 +199,116 @@ public class PostServiceTest {
         //두 번째 게시글의 제목과 내용이 각각 저장되어있던테스트제목/내용과 일치하는지 확인.
     }   //asssertThat(메서드): 특정 조건이 참인지 확인하는데 사용.
 
+    @Test
+    @DisplayName("요약 목록 조회 시 미리보기 길이에 따라 프로젝션 쿼리를 고르는지 테스트")
+    void read_all_post_summaries() {
+
+        //given
+        Pageable pageable = PageRequest.of(0, 5);
+        Slice<PostSummaryResponse> summaries = new SliceImpl<>(List.of(new PostSummaryResponse(1L, "테스트 제목")), pageable, false);
+        Slice<PostSummaryResponse> withPreview = new SliceImpl<>(List.of(new PostSummaryResponse(1L, "테스트 제목", "테스트 내용")), pageable, false);
+        given(postRepository.findAllSummaries(pageable)).willReturn(summaries);
+        given(postRepository.findAllSummariesWithPreview(pageable)).willReturn(withPreview);     //저장된 preview 를 요청한 길이로 자른다.
+
+        //when & then
+        assertThat(postService.readAllPostSummaries(pageable, 0).getContent().get(0).getPreview()).isNull();
+        assertThat(postService.readAllPostSummaries(pageable, 3).getContent().get(0).getPreview()).isEqualTo("테스트");
+        verify(postRepository, never()).findAll(any(Pageable.class));  //엔티티 전체를 읽는 쿼리는 사용하지 않는다.
+    }
+
+    @Test
+    @DisplayName("다음 페이지가 있으면 메모리에 보관된 전체 게시글 수를 사용하는지 테스트")
+    void read_all_post_with_cached_count() {
+
+        //given: 첫 페이지(size=1) 뒤에 더 있고, 보관된 전체 개수는 10
+        Pageable pageable = PageRequest.of(0, 1);
+        given(postRepository.findResponses(pageable)).willReturn(new SliceImpl<>(List.of(response(savedPost)), pageable, true));
+        given(postCountCache.count()).willReturn(10L);
+
+        //when
+        Page<ReadPostResponse> responses = postService.readAllPost(pageable);
+
+        //then
+        assertThat(responses.getTotalElements()).isEqualTo(10);
+        assertThat(responses.getTotalPages()).isEqualTo(10);
+        assertThat(responses.hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("보관된 전체 개수가 실제보다 작아도 다음 페이지가 있다고 응답하는지 테스트")
+    void read_all_post_with_stale_count() {
+
+        //given: 보관된 개수(0)가 아직 반영되지 않은 상태
+        Pageable pageable = PageRequest.of(0, 1);
+        given(postRepository.findResponses(pageable)).willReturn(new SliceImpl<>(List.of(response(savedPost)), pageable, true));
+        given(postCountCache.count()).willReturn(0L);
+
+        //when & then
+        assertThat(postService.readAllPost(pageable).hasNext()).isTrue();
+    }
+
+    @Test
+    @DisplayName("커서 기반 목록 조회 기능 테스트")
+    void read_posts_by_cursor() {
+
+        //given: 첫 페이지(size=1)를 요청했을 때 size + 1 개가 조회되면 다음 페이지가 있다.
+        given(postRepository.findLatestResponses(PageRequest.of(0, 2))).willReturn(Arrays.asList(response(savedPost), response(post)));
+        given(postRepository.findResponsesBefore(2L, PageRequest.of(0, 2))).willReturn(List.of(response(post)));
+
+        //when
+        CursorPageResponse<ReadPostResponse> first = postService.readPostsByCursor(null, 1);
+        CursorPageResponse<ReadPostResponse> second = postService.readPostsByCursor(first.getNextCursor(), 1);
+
+        //then
+        assertThat(first.getContent()).extracting(ReadPostResponse::getPostId).containsExactly(2L);
+        assertThat(first.getNextCursor()).isNotNull();
+        assertThat(first.getPrevCursor()).isNull();
+
+        assertThat(second.getContent()).extracting(ReadPostResponse::getPostId).containsExactly(1L);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getPrevCursor()).isNotNull();
+    }
+
+    @Test
+    @DisplayName("잘못된 커서가 들어오면 IllegalArgumentException을 발생시키는지 테스트")
+    void read_posts_by_invalid_cursor() {
+        assertThrows(IllegalArgumentException.class, () -> postService.readPostsByCursor("잘못된커서", 5));
+    }
+
     @Test
     @DisplayName("게시글 삭제 테스트")
     void delete_post() {
 
-        //given
-        when(postRepository.findById(any())).thenReturn(Optional.of(savedPost));
+        //given: update 문이 1개 행에 삭제 표시 (행은 PostPurger 가 나중에 지운다)
+        when(postRepository.markDeletedById(2L)).thenReturn(1);
 
         //when
         DeletePostResponse deletePostResponse = postService.deletePost(savedPost.getPostId());
 
         //then
         assertThat(deletePostResponse.getPostId()).isEqualTo(2L);
+        verify(postChangePublisher).publish(2L, PostChangeType.DELETED);    //삭제 후 캐시 무효화 이벤트가 발행되어야 한다.
+        verify(postRepository, never()).findById(any());    //삭제 전에 조회하지 않는다.
 
     }
 
-//    @Test
-//    @DisplayName("postId로 게시물을 찾지 못했을 때, 지정한 Exception을 발생시키는지 테스트")
-//    void delete_post_by_id_2() {
-//        //given
-//        given(postRepository.findById(any())).willReturn(Optional.empty());
-//
-//        //when & then
-//        assertThrows(EntityNotFoundException.class, () ->
-//                postService.deletePost(1L));
-//    }
+    @Test
+    @DisplayName("postId로 게시물을 찾지 못했을 때, 지정한 Exception을 발생시키는지 테스트")
+    void delete_post_by_id_2() {
+        //given: 삭제 표시된 행이 없음 (없거나 이미 삭제된 게시글)
+        given(postRepository.markDeletedById(any())).willReturn(0);
+
+        //when & then
+        assertThrows(EntityNotFoundException.class, () ->
+                postService.deletePost(1L));
+        verify(postChangePublisher, never()).publish(any(), any());
+    }
 
     @Test
     @DisplayName("게시글 수정 기능 테스트")
     void update_post_test() {
 
-        given(postRepository.findById(any())).willReturn(Optional.of(savedPost));
+        given(postRepository.updateTitleAndContent(2L, "변경된 테스트 제목", "변경된 테스트 내용", "변경된 테스트 내용")).willReturn(1);
 
         //when
         UpdatePostResponse updatePostResponse = postService.updatePost(savedPost.getPostId(), updatePostRequest);
@@ -197,7 +317,73 @@ public class PostServiceTest {
         assertThat(updatePostResponse.getPostId()).isEqualTo(savedPost.getPostId());
         assertThat(updatePostResponse.getTitle()).isEqualTo("변경된 테스트 제목");
         assertThat(updatePostResponse.getContent()).isEqualTo("변경된 테스트 내용");
+        verify(postRepository, never()).findById(any());    //수정 전에 조회하지 않는다.
+        verify(postChangePublisher).publish(2L, PostChangeType.UPDATED);
+
+
+    }
+
+    @Test
+    @DisplayName("If-Match 버전이 현재 버전과 다르면 수정하지 않고 OptimisticLockException을 발생시키는지 테스트")
+    void update_post_version_mismatch() {
+
+        //given: 저장된 게시글의 버전은 5라서 버전 4 조건의 update는 0개 행을 변경
+        given(postRepository.updateTitleAndContentIfVersion(2L, "변경된 테스트 제목", "변경된 테스트 내용", "변경된 테스트 내용", 4L)).willReturn(0);
+        given(postRepository.findVersionById(2L)).willReturn(Optional.of(5L));
+
+        //when & then
+        assertThrows(OptimisticLockException.class, () ->
+                postService.updatePost(savedPost.getPostId(), updatePostRequest, 4L));
+        verify(postChangePublisher, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("If-Match 버전이 같으면 수정하고, 증가한 버전을 응답하는지 테스트")
+    void update_post_version_match() {
+
+        //given
+        given(postRepository.updateTitleAndContentIfVersion(2L, "변경된 테스트 제목", "변경된 테스트 내용", "변경된 테스트 내용", 5L)).willReturn(1);
+
+        //when
+        UpdatePostResponse response = postService.updatePost(savedPost.getPostId(), updatePostRequest, 5L);
+
+        //then
+        assertThat(response.getVersion()).isEqualTo(6L);
+    }
+
+    @Test
+    @DisplayName("버전 조회는 캐시에 있으면 캐시의 버전을, 없으면 버전과 조회수만 조회하는지 테스트")
+    void read_post_version() {
+
+        //given
+        given(postCache.get(1L)).willReturn(new ReadPostResponse(1L, "캐시된 제목", "캐시된 내용", 7L, 3L));
+        given(postRepository.findVersionResponseById(2L)).willReturn(Optional.of(new PostVersionResponse(5L, 10L)));
 
+        //when & then
+        PostVersionResponse cached = postService.readPostVersion(1L);
+        assertThat(cached.getVersion()).isEqualTo(7L);
+        assertThat(cached.getViewCount()).isEqualTo(3L);
+        PostVersionResponse loaded = postService.readPostVersion(2L);
+        assertThat(loaded.getVersion()).isEqualTo(5L);
+        assertThat(loaded.getViewCount()).isEqualTo(10L);
+        verify(postRepository, never()).findById(any());
+    }
 
+    @Test
+    @DisplayName("캐시의 조회수와 pending 을 읽는 사이에 flush 가 끼면 다시 읽어서 조회수를 빠뜨리지 않는지 테스트")
+    void read_post_version_retries_after_flush() {
+
+        //given: 첫 번째 읽기 도중 flush 가 pending 5 를 가져갔지만 아직 캐시에 더하지 못했다. (10 + 0 으로 5 가 빠짐)
+        given(postViewCounter.beginRead()).willReturn(0L, 2L);
+        given(postViewCounter.flushedSince(0L)).willReturn(true);
+        given(postCache.get(1L)).willReturn(
+                new ReadPostResponse(1L, "제목", "내용", 7L, 10L),
+                new ReadPostResponse(1L, "제목", "내용", 7L, 15L));
+
+        //when
+        PostVersionResponse response = postService.readPostVersion(1L);
+
+        //then
+        assertThat(response.getViewCount()).isEqualTo(15L);
     }
 }
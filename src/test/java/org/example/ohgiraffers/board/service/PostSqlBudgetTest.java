@@ -0,0 +1,120 @@
+package org.example.ohgiraffers.board.service;
+
+
+import jakarta.persistence.EntityNotFoundException;
+import org.example.ohgiraffers.board.cache.PostCache;
+import org.example.ohgiraffers.board.cache.PostCountCache;
+import org.example.ohgiraffers.board.domain.dto.CreatePostRequest;
+import org.example.ohgiraffers.board.domain.dto.UpdatePostRequest;
+import org.example.ohgiraffers.board.metrics.SqlBudget;
+import org.example.ohgiraffers.board.repository.PostRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+//내장 DB(H2, embedded 프로필)에서 PostService 메서드 하나가 실행하는 SQL 문 수가 예산을 넘지 않는지 확인한다.
+//조회 앞에 findById 가 붙거나, 목록 조회에서 N+1 이 생기면 테스트(빌드)가 실패한다.
+//게시글 변경은 변경 로그(post_change_log) insert 1개가 함께 나간다.
+@SpringBootTest
+@ActiveProfiles("embedded")
+public class PostSqlBudgetTest {
+
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 5, Sort.by(Sort.Direction.DESC, "postId"));
+
+    @Autowired
+    PostService postService;
+
+    @Autowired
+    PostCache postCache;
+
+    @Autowired
+    PostCountCache postCountCache;
+
+    @Autowired
+    PostPurger postPurger;
+
+    @Autowired
+    PostRepository postRepository;
+
+    private Long postId;
+
+    @BeforeEach
+    void setup() {
+        for (int i = 0; i < 6; i++) {  //목록 조회에서 다음 페이지가 있도록 한 페이지보다 많이 만든다.
+            postId = postService.createPost(new CreatePostRequest("예산 테스트 제목 " + i, "예산 테스트 내용 " + i)).getPostId();
+        }
+        postCountCache.count();     //전체 개수를 처음 한 번 세는 count 쿼리는 예산에서 뺀다.
+        postCache.evict(postId);
+    }
+
+    @Test
+    @DisplayName("게시글 작성은 insert 2개(게시글, 변경 로그)와 id 블록을 받을 때의 select 1개 이하인지 테스트")
+    void create_post_budget() throws Exception {
+        SqlBudget.selects(1).inserts(2)
+                .verify(() -> postService.createPost(new CreatePostRequest("새 제목", "새 내용")));
+    }
+
+    @Test
+    @DisplayName("게시글 조회는 캐시에 없으면 select 1개, 있으면 SQL 없이 처리되는지 테스트")
+    void read_post_budget() throws Exception {
+        SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readPostById(postId));
+        SqlBudget.none().verify(() -> postService.readPostById(postId));
+    }
+
+    @Test
+    @DisplayName("버전 조회(If-None-Match)는 select 1개 이하인지 테스트")
+    void read_post_version_budget() throws Exception {
+        SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readPostVersion(postId));
+    }
+
+    @Test
+    @DisplayName("게시글 수정은 조회 없이 update 1개 + 변경 로그 insert 1개인지 테스트")
+    void update_post_budget() throws Exception {
+        SqlBudget.none().updates(1).inserts(1)
+                .verify(() -> postService.updatePost(postId, new UpdatePostRequest("수정 제목", "수정 내용")));
+
+        Long version = postService.readPostVersion(postId).getVersion();
+        SqlBudget.none().updates(1).inserts(1)
+                .verify(() -> postService.updatePost(postId, new UpdatePostRequest("다시 수정", "다시 수정"), version));
+    }
+
+    @Test
+    @DisplayName("게시글 삭제는 조회 없이 삭제 표시 update 1개 + 변경 로그 insert 1개인지 테스트")
+    void delete_post_budget() throws Exception {
+        SqlBudget.none().updates(1).inserts(1).verify(() -> postService.deletePost(postId));
+    }
+
+    @Test
+    @DisplayName("삭제된 게시글은 조회되지 않고, 정리(PostPurger)는 select 1개 + delete 1개로 한 묶음을 지우는지 테스트")
+    void purge_budget() throws Exception {
+        postService.deletePost(postId);
+        assertThrows(EntityNotFoundException.class, () -> postService.readPostById(postId));
+        //JpaRepository 기본 메서드도 삭제 표시된 게시글을 읽지 않고(@Where), 정리용 native 쿼리만 찾는다.
+        assertThat(postRepository.findById(postId)).isEmpty();
+        assertThat(postRepository.existsById(postId)).isFalse();
+        assertThat(postRepository.findDeletedIds(PageRequest.of(0, 10))).contains(postId);
+
+        SqlBudget.selects(1).deletes(1).verify(() -> {
+            postPurger.purge();
+            return null;
+        });
+    }
+
+    @Test
+    @DisplayName("목록 조회(페이지, slice, 요약, 커서)는 count 없이 select 1개이고 엔티티를 로드하지 않는지(N+1 없음) 테스트")
+    void read_list_budget() throws Exception {
+        assertThat(SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readAllPost(FIRST_PAGE)).hasNext()).isTrue();
+        SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readPostSlice(FIRST_PAGE));
+        SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readAllPostSummaries(FIRST_PAGE, 0));
+        SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readAllPostSummaries(FIRST_PAGE, 50));
+        SqlBudget.selects(1).entityLoads(0).verify(() -> postService.readPostsByCursor(null, 5));
+    }
+}
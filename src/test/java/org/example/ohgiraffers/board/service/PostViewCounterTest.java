@@ -0,0 +1,116 @@
+package org.example.ohgiraffers.board.service;
+
+
+import org.example.ohgiraffers.board.cache.PostCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+//조회수 모으기/반영(PostViewCounter) 단위 테스트
+@ExtendWith(MockitoExtension.class)
+public class PostViewCounterTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private PostCache postCache;
+
+    private PostViewCounter postViewCounter;
+
+    @BeforeEach
+    void setup() {
+        postViewCounter = new PostViewCounter(jdbcTemplate, postCache);
+    }
+
+    @Test
+    @DisplayName("여러 스레드의 조회수를 모아서 게시글당 update 하나로 반영하는지 테스트")
+    @SuppressWarnings("unchecked")
+    void flush_aggregated_deltas() {
+
+        //given: 1번 게시글 1000회, 2번 게시글 1회 (병렬)
+        IntStream.range(0, 1000).parallel().forEach(i -> postViewCounter.increment(1L));
+        postViewCounter.increment(2L);
+        assertThat(postViewCounter.pending(1L)).isEqualTo(1000);
+
+        //when
+        postViewCounter.flush();
+
+        //then
+        ArgumentCaptor<List<Object[]>> captor = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), captor.capture());
+        assertThat(captor.getValue()).hasSize(2)
+                .anySatisfy(delta -> assertThat(delta).containsExactly(1000L, 1L))
+                .anySatisfy(delta -> assertThat(delta).containsExactly(1L, 2L));
+        assertThat(postViewCounter.pending(1L)).isZero();
+        verify(postCache).addViews(1L, 1000L);
+    }
+
+    @Test
+    @DisplayName("flush 도중 읽기 시작하면 flush 가 끝날 때까지 기다리고, 읽는 사이 flush 가 있었는지 알 수 있는지 테스트")
+    void read_does_not_straddle_flush() throws Exception {
+
+        //given: DB 반영(batchUpdate)에서 멈춰 있는 flush
+        postViewCounter.increment(1L);
+        long before = postViewCounter.beginRead();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return new int[] {1};
+        });
+        CompletableFuture<Void> flushing = CompletableFuture.runAsync(postViewCounter::flush);
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+
+        //when
+        CompletableFuture<Long> reading = CompletableFuture.supplyAsync(postViewCounter::beginRead);
+
+        //then: pending 은 이미 0 이지만 캐시에는 아직 더해지지 않았으므로 읽기는 flush 가 끝날 때까지 기다린다.
+        assertThat(postViewCounter.flushedSince(before)).isTrue();
+        Thread.sleep(100);
+        assertThat(reading).isNotDone();
+        release.countDown();
+        flushing.get(5, TimeUnit.SECONDS);
+        long after = reading.get(5, TimeUnit.SECONDS);
+        verify(postCache).addViews(1L, 1L);
+        assertThat(after).isNotEqualTo(before);
+        assertThat(postViewCounter.flushedSince(after)).isFalse();
+    }
+
+    @Test
+    @DisplayName("반영에 실패하면 조회수를 잃지 않고 다음 주기에 다시 반영하는지 테스트")
+    void flush_failure_keeps_deltas() {
+
+        //given
+        postViewCounter.increment(1L);
+        postViewCounter.increment(1L);
+        given(jdbcTemplate.batchUpdate(anyString(), anyList())).willThrow(new QueryTimeoutException("timeout"));
+
+        //when
+        postViewCounter.flush();
+
+        //then
+        assertThat(postViewCounter.pending(1L)).isEqualTo(2);
+        verify(postCache, never()).addViews(1L, 2L);
+    }
+}